@@ -0,0 +1,109 @@
+package com.app.impl.Client;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import feign.FeignException;
+import feign.RetryableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.exception.UserServiceUnavailableException;
+
+// Both lookups are reads, so they are retried even though the batch one is a POST.
+// When user service can't be called, users resolved before are served from stale cache,
+// otherwise UserServiceUnavailableException is thrown
+@Primary
+@Component
+public class ResilientUserClient implements UserClient {
+    private final UserClient userClient;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final Cache<String, UserResponseDto> staleUserCache;
+
+    @Autowired
+    public ResilientUserClient(
+            @Qualifier("feignUserClient") UserClient userClient,
+            Bulkhead userClientBulkhead,
+            CircuitBreaker userClientCircuitBreaker,
+            Retry userClientRetry,
+            Cache<String, UserResponseDto> staleUserCache
+    ) {
+        this.userClient = userClient;
+        this.bulkhead = userClientBulkhead;
+        this.circuitBreaker = userClientCircuitBreaker;
+        this.retry = userClientRetry;
+        this.staleUserCache = staleUserCache;
+    }
+
+    @Override
+    public UserResponseDto getUserByEmail(String email) {
+        try {
+            UserResponseDto user = call(() -> userClient.getUserByEmail(email));
+            if (user != null) {
+                staleUserCache.put(email, user);
+            }
+            return user;
+        } catch (RuntimeException ex) {
+            if (!isUnavailable(ex)) {
+                throw ex;
+            }
+            UserResponseDto staleUser = staleUserCache.getIfPresent(email);
+            if (staleUser == null) {
+                throw new UserServiceUnavailableException(ex);
+            }
+            return staleUser;
+        }
+    }
+
+    @Override
+    public Map<String, UserResponseDto> getUsersByEmails(List<String> emails) {
+        try {
+            Map<String, UserResponseDto> users = call(() -> userClient.getUsersByEmails(emails));
+            if (users != null) {
+                staleUserCache.putAll(users);
+            }
+            return users;
+        } catch (RuntimeException ex) {
+            if (!isUnavailable(ex)) {
+                throw ex;
+            }
+            // partial answer would make missing emails look unknown, so it's all or nothing
+            Map<String, UserResponseDto> staleUsers = staleUserCache.getAllPresent(emails);
+            if (staleUsers.size() < new HashSet<>(emails).size()) {
+                throw new UserServiceUnavailableException(ex);
+            }
+            return staleUsers;
+        }
+    }
+
+    // Retry wraps circuit breaker, so every attempt is recorded and an open circuit stops retries
+    private <T> T call(Supplier<T> call) {
+        Supplier<T> decorated = Bulkhead.decorateSupplier(bulkhead, call);
+        decorated = CircuitBreaker.decorateSupplier(circuitBreaker, decorated);
+        decorated = Retry.decorateSupplier(retry, decorated);
+        return decorated.get();
+    }
+
+    private boolean isUnavailable(RuntimeException ex) {
+        return ex instanceof CallNotPermittedException
+                || ex instanceof BulkheadFullException
+                || ex instanceof RetryableException
+                || ex instanceof FeignException.FeignServerException;
+    }
+}
@@ -1,13 +1,23 @@
 package com.app.impl.Client;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import com.app.impl.dto.user.UserResponseDto;
 
-@FeignClient(name = "userService", url = "${user.service.url}")
+// Callers get ResilientUserClient, which decorates this client
+@FeignClient(name = "userService", url = "${user.service.url}", qualifiers = "feignUserClient", primary = false)
 public interface UserClient {
     @GetMapping("/api/users/by-email")
     UserResponseDto getUserByEmail(@RequestParam String email);
+
+    // Returns found users keyed by email, unknown emails are simply absent
+    @PostMapping("/api/users/by-emails")
+    Map<String, UserResponseDto> getUsersByEmails(@RequestBody List<String> emails);
 }
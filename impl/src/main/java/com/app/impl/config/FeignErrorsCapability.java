@@ -0,0 +1,51 @@
+package com.app.impl.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Call timers come from feign-micrometer (http.client.requests), this counts failed calls,
+// including ones that never got a response
+@Component
+public class FeignErrorsCapability implements Capability {
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public FeignErrorsCapability(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            try {
+                Response response = client.execute(request, options);
+                if (response.status() >= 400) {
+                    countError(request, String.valueOf(response.status()));
+                }
+                return response;
+            } catch (IOException | RuntimeException ex) {
+                countError(request, ex.getClass().getSimpleName());
+                throw ex;
+            }
+        };
+    }
+
+    private void countError(Request request, String cause) {
+        Counter.builder("feign.client.errors")
+                .tag("client", request.requestTemplate().feignTarget().name())
+                .tag("method", request.requestTemplate().methodMetadata().configKey())
+                .tag("cause", cause)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.impl.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.app.impl.dto.item.ItemResponseDto;
+
+@Configuration
+@EnableConfigurationProperties(ItemCacheProperties.class)
+public class ItemCacheConfig {
+    // Disabled cache still exists, but keeps nothing, so every read goes to DB and metrics show only misses
+    @Bean
+    public Cache<Long, ItemResponseDto> itemCache(
+            ItemCacheProperties itemCacheProperties,
+            MeterRegistry meterRegistry
+    ) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(itemCacheProperties.ttl())
+                .recordStats();
+
+        if (itemCacheProperties.enabled()) {
+            builder.maximumSize(itemCacheProperties.maxSize());
+        } else {
+            // evicting in caller thread, so nothing is served between load and eviction
+            builder.maximumSize(0)
+                    .executor(Runnable::run);
+        }
+
+        return CaffeineCacheMetrics.monitor(meterRegistry, builder.build(), "items");
+    }
+}
@@ -0,0 +1,12 @@
+package com.app.impl.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "item.cache")
+public record ItemCacheProperties(
+        boolean enabled,
+        long maxSize,
+        Duration ttl
+) { }
@@ -0,0 +1,28 @@
+package com.app.impl.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.app.impl.service.event.OrderEventRelay;
+
+@Configuration
+@EnableConfigurationProperties(OrderEventProperties.class)
+public class OrderEventConfig {
+    // Without the schedule the relay is only run on demand, e.g. by tests
+    @Configuration
+    @ConditionalOnProperty(prefix = "order.events.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class RelaySchedulingConfig {
+        private final OrderEventRelay relay;
+
+        RelaySchedulingConfig(OrderEventRelay relay) {
+            this.relay = relay;
+        }
+
+        @Scheduled(fixedDelayString = "${order.events.relay.interval}")
+        void relay() {
+            relay.relay();
+        }
+    }
+}
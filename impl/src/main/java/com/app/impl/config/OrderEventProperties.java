@@ -0,0 +1,25 @@
+package com.app.impl.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "order.events")
+public record OrderEventProperties(
+        Relay relay,
+        Sink sink
+) {
+    // Scheduling itself is switched by order.events.relay.enabled
+    public record Relay(
+            Duration interval,
+            int batchSize
+    ) { }
+
+    // Type memory or file picks one of the local sinks, any other type expects an OrderEventSink bean
+    public record Sink(
+            String type,
+            int memoryCapacity,
+            Path file
+    ) { }
+}
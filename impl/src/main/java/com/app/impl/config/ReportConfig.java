@@ -0,0 +1,28 @@
+package com.app.impl.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.app.impl.service.report.ReportRollup;
+
+@Configuration
+@EnableConfigurationProperties(ReportProperties.class)
+public class ReportConfig {
+    // Without the schedule the rollup is only run on demand, e.g. by tests
+    @Configuration
+    @ConditionalOnProperty(prefix = "report.rollup", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class RollupSchedulingConfig {
+        private final ReportRollup rollup;
+
+        RollupSchedulingConfig(ReportRollup rollup) {
+            this.rollup = rollup;
+        }
+
+        @Scheduled(fixedDelayString = "${report.rollup.interval}")
+        void rollup() {
+            rollup.rollup();
+        }
+    }
+}
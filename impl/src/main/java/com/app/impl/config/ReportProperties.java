@@ -0,0 +1,16 @@
+package com.app.impl.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "report")
+public record ReportProperties(
+        Rollup rollup
+) {
+    // Scheduling itself is switched by report.rollup.enabled
+    public record Rollup(
+            Duration interval,
+            int batchSize
+    ) { }
+}
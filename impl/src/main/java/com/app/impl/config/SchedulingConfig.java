@@ -0,0 +1,9 @@
+package com.app.impl.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Scheduling is global, every job is switched by its own property, see OrderEventConfig and ReportConfig
+@Configuration
+@EnableScheduling
+public class SchedulingConfig { }
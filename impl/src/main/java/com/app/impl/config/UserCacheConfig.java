@@ -0,0 +1,40 @@
+package com.app.impl.config;
+
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.app.impl.dto.user.UserResponseDto;
+
+@Configuration
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class UserCacheConfig {
+    // Empty value means that user service doesn't know such email (negative caching).
+    // Cache is async, so lookups in flight are kept as futures and concurrent misses of the same emails,
+    // single or bulk, wait for one call. Loads run in the calling thread, there is no extra hop
+    @Bean
+    public AsyncCache<String, Optional<UserResponseDto>> userCache(
+            UserCacheProperties userCacheProperties,
+            MeterRegistry meterRegistry
+    ) {
+        AsyncCache<String, Optional<UserResponseDto>> userCache = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.maxSize())
+                .expireAfter(Expiry.<String, Optional<UserResponseDto>>creating((email, user) ->
+                        user.isPresent() ? userCacheProperties.ttl() : userCacheProperties.negativeTtl()
+                ))
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync();
+
+        return CaffeineCacheMetrics.monitor(meterRegistry, userCache, "users");
+    }
+}
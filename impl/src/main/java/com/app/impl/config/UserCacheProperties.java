@@ -0,0 +1,12 @@
+package com.app.impl.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user.cache")
+public record UserCacheProperties(
+        long maxSize,
+        Duration ttl,
+        Duration negativeTtl
+) { }
@@ -0,0 +1,39 @@
+package com.app.impl.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user.client")
+public record UserClientProperties(
+        Bulkhead bulkhead,
+        Retry retry,
+        CircuitBreaker circuitBreaker,
+        StaleCache staleCache
+) {
+    public record Bulkhead(
+            int maxConcurrentCalls,
+            Duration maxWait
+    ) { }
+
+    // Backoff grows exponentially from initialInterval and is randomized by jitter
+    public record Retry(
+            int maxAttempts,
+            Duration initialInterval,
+            double jitter
+    ) { }
+
+    public record CircuitBreaker(
+            float failureRateThreshold,
+            int slidingWindowSize,
+            int minimumCalls,
+            Duration slowCallThreshold,
+            Duration openStateWait
+    ) { }
+
+    // Last known users, served while user service can't be called
+    public record StaleCache(
+            long maxSize,
+            Duration ttl
+    ) { }
+}
@@ -0,0 +1,111 @@
+package com.app.impl.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import feign.FeignException;
+import feign.RetryableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.app.impl.dto.user.UserResponseDto;
+
+@Configuration
+@EnableConfigurationProperties(UserClientProperties.class)
+public class UserClientResilienceConfig {
+    public static final String USER_SERVICE = "userService";
+
+    // Timeouts (feign.RetryableException) and 5xx answers mean that user service is unhealthy,
+    // 4xx answers like 404 for unknown email are regular responses
+    private static boolean isUserServiceFailure(Throwable ex) {
+        return ex instanceof RetryableException || ex instanceof FeignException.FeignServerException;
+    }
+
+    @Bean
+    public CircuitBreaker userClientCircuitBreaker(
+            UserClientProperties userClientProperties,
+            MeterRegistry meterRegistry
+    ) {
+        UserClientProperties.CircuitBreaker properties = userClientProperties.circuitBreaker();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.failureRateThreshold())
+                // slow answers tie up callers as much as failed ones
+                .slowCallRateThreshold(properties.failureRateThreshold())
+                .slowCallDurationThreshold(properties.slowCallThreshold())
+                .slidingWindowSize(properties.slidingWindowSize())
+                .minimumNumberOfCalls(properties.minimumCalls())
+                .waitDurationInOpenState(properties.openStateWait())
+                .recordException(UserClientResilienceConfig::isUserServiceFailure)
+                .build());
+
+        // resilience4j.circuitbreaker.state gauge among others
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(USER_SERVICE);
+    }
+
+    @Bean
+    public Bulkhead userClientBulkhead(
+            UserClientProperties userClientProperties,
+            MeterRegistry meterRegistry
+    ) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(userClientProperties.bulkhead().maxConcurrentCalls())
+                .maxWaitDuration(userClientProperties.bulkhead().maxWait())
+                .build());
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(USER_SERVICE);
+    }
+
+    @Bean
+    public Retry userClientRetry(
+            UserClientProperties userClientProperties,
+            MeterRegistry meterRegistry
+    ) {
+        UserClientProperties.Retry properties = userClientProperties.retry();
+        RetryRegistry registry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(properties.maxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        properties.initialInterval(),
+                        IntervalFunction.DEFAULT_MULTIPLIER,
+                        properties.jitter()
+                ))
+                .retryOnException(UserClientResilienceConfig::isUserServiceFailure)
+                .build());
+
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry.retry(USER_SERVICE);
+    }
+
+    @Bean
+    public Cache<String, UserResponseDto> staleUserCache(
+            UserClientProperties userClientProperties,
+            MeterRegistry meterRegistry
+    ) {
+        Cache<String, UserResponseDto> staleUserCache = Caffeine.newBuilder()
+                .maximumSize(userClientProperties.staleCache().maxSize())
+                .expireAfterWrite(userClientProperties.staleCache().ttl())
+                .recordStats()
+                .build();
+
+        return CaffeineCacheMetrics.monitor(meterRegistry, staleUserCache, "stale-users");
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.impl.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserLookupProperties.class)
+public class UserLookupConfig {
+    // Single user lookups are blocking Feign calls, a virtual thread per call is cheap
+    @Bean(destroyMethod = "close")
+    public ExecutorService userLookupExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-lookup-", 0).factory());
+    }
+}
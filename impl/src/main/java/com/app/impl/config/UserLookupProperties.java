@@ -0,0 +1,12 @@
+package com.app.impl.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user.lookup")
+public record UserLookupProperties(
+        boolean batchEnabled,
+        int maxConcurrency,
+        Duration timeout
+) { }
@@ -0,0 +1,94 @@
+package com.app.impl.config;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Listens to JFR jdk.VirtualThreadPinned events in process: every virtual thread blocked while
+// pinned to its carrier longer than threshold is logged with its stack and counted.
+// On JDK 24 monitors don't pin anymore, events come from blocking below native frames or in class initializers
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 10;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinned-threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry
+    ) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads blocked while pinned to carrier longer than threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(threshold)
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        recordingStream.close();
+        recordingStream = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+
+        String stack = event.getStackTrace() == null
+                ? "unknown"
+                : event.getStackTrace().getFrames().stream()
+                        // parking internals are the same for every event, the cause is below them
+                        .dropWhile(this::isJdkFrame)
+                        .limit(LOGGED_FRAMES)
+                        .map(this::toStackLine)
+                        .collect(Collectors.joining("\n\tat "));
+        log.warn("Virtual thread {} was pinned for {} ms\n\tat {}",
+                event.getThread() == null ? "unknown" : event.getThread().getJavaName(),
+                event.getDuration().toMillis(),
+                stack);
+    }
+
+    private boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.");
+    }
+
+    private String toStackLine(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
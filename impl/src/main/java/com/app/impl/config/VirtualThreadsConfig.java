@@ -0,0 +1,35 @@
+package com.app.impl.config;
+
+import java.net.http.HttpClient;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import feign.Client;
+import feign.http2client.Http2Client;
+
+// Tomcat and @Async executors switch to virtual threads by spring.threads.virtual.enabled itself,
+// here is only what Spring Boot doesn't cover
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+    // Calling virtual thread unmounts while waiting for response. Responses are completed by client's
+    // default platform executor on purpose: a virtual one would need a free carrier, and callers still pin
+    // theirs when they block below a native frame or inside a class initializer. Closed together with context
+    @Bean
+    public HttpClient feignHttpClient() {
+        return HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    // Default Feign client is HttpURLConnection, blocking one virtual thread per call on socket reads.
+    // java.net.http client parks the caller until its selector completes the response and reuses
+    // connections from its own pool
+    @Bean
+    public Client feignClient(HttpClient feignHttpClient) {
+        return new Http2Client(feignHttpClient);
+    }
+}
@@ -1,12 +1,18 @@
 package com.app.impl.controller;
 
+import java.io.InputStream;
 import java.util.List;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,21 +24,43 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.app.impl.domain.FileFormat;
+import com.app.impl.dto.item.BulkItemResultDto;
+import com.app.impl.dto.item.ItemImportResultDto;
 import com.app.impl.dto.item.ItemRequestDto;
 import com.app.impl.dto.item.ItemUpdateRequestDto;
 import com.app.impl.dto.item.ItemResponseDto;
+import com.app.impl.dto.page.CursorPageDto;
+import com.app.impl.service.ItemBatchService;
+import com.app.impl.service.ItemImportService;
 import com.app.impl.service.ItemService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/items")
 @Validated
 public class ItemController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10000;
+
     private final ItemService itemService;
+    private final ItemBatchService itemBatchService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(
+            ItemService itemService,
+            ItemBatchService itemBatchService,
+            ItemImportService itemImportService,
+            ObjectMapper objectMapper
+    ) {
         this.itemService = itemService;
+        this.itemBatchService = itemBatchService;
+        this.itemImportService = itemImportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -41,12 +69,40 @@ public class ItemController {
                 .body(itemService.create(itemRequestDto));
     }
 
+    // Responds with result of every item in request order, failed items don't affect the others
+    @PostMapping("/batch")
+    public ResponseEntity<List<BulkItemResultDto>> createItems(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid ItemRequestDto> itemRequestDtos
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(itemBatchService.createAll(itemRequestDtos));
+    }
+
+    // Body is the file itself (CSV with "name,price" header or NDJSON), it's streamed to the database as it's read
+    @PostMapping("/import")
+    public ResponseEntity<ItemImportResultDto> importItems(
+            @RequestParam(defaultValue = "CSV") FileFormat format,
+            InputStream body
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(itemImportService.importItems(format, body));
+    }
+
     @PutMapping
     public ResponseEntity<ItemResponseDto> updateItem(@RequestBody @Valid ItemUpdateRequestDto itemUpdateRequestDto) {
         return ResponseEntity.status(HttpStatus.OK)
                 .body(itemService.update(itemUpdateRequestDto));
     }
 
+    // Responds with result of every item in request order, failed items don't affect the others
+    @PutMapping("/batch")
+    public ResponseEntity<List<BulkItemResultDto>> updateItems(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid ItemUpdateRequestDto> itemUpdateRequestDtos
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(itemBatchService.updateAll(itemUpdateRequestDtos));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ItemResponseDto> getItemById(@PathVariable @Positive Long id) {
         return ResponseEntity.status(HttpStatus.OK)
@@ -65,6 +121,24 @@ public class ItemController {
                 .body(itemService.getAll());
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<ItemResponseDto>> getItemsPage(
+            @RequestParam @Positive @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long after
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(itemService.getPage(after, limit));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItems() {
+        StreamingResponseBody body = outputStream ->
+                itemService.streamAll(new NdjsonWriter<>(outputStream, objectMapper));
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable @Positive Long id) {
         itemService.deleteById(id);
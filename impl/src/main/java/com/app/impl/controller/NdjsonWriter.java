@@ -0,0 +1,31 @@
+package com.app.impl.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Writes every accepted element as a separate JSON line straight to the response
+final class NdjsonWriter<T> implements Consumer<T> {
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final OutputStream outputStream;
+    private final ObjectMapper objectMapper;
+
+    NdjsonWriter(OutputStream outputStream, ObjectMapper objectMapper) {
+        this.outputStream = outputStream;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void accept(T element) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(element));
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.app.impl.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
-import com.app.impl.domain.OrderStatus;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,42 +26,98 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.app.impl.domain.FileFormat;
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.BulkOrderResultDto;
+import com.app.impl.dto.order.OrderExportFilter;
 import com.app.impl.dto.order.OrderRequestDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateRequestDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateResultDto;
 import com.app.impl.dto.order.OrderUpdateRequestDto;
 import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.dto.page.CursorPageDto;
 import com.app.impl.service.OrderService;
+import com.app.impl.service.export.OrderExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/orders")
 @Validated
 public class OrderController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 10000;
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(
+            OrderService orderService,
+            OrderExportService orderExportService,
+            ObjectMapper objectMapper
+    ) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
     public ResponseEntity<OrderResponseDto> createOrder(@RequestBody @Valid OrderRequestDto orderRequestDto) {
+        OrderResponseDto response = orderService.create(orderRequestDto);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(orderService.create(orderRequestDto));
+                .eTag(VersionETags.of(response.getVersion()))
+                .body(response);
+    }
+
+    // Responds with result of every order in request order, failed orders don't affect the others
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkOrderResultDto>> createOrders(
+            @RequestBody @NotEmpty @Size(max = MAX_BULK_SIZE) List<@Valid OrderRequestDto> orderRequestDtos
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(orderService.createAll(orderRequestDtos));
     }
 
+    // If-Match takes precedence over the version of the body. A stale If-Match is answered with 412,
+    // a stale version of the body with 409
     @PutMapping
-    public ResponseEntity<OrderResponseDto> updateOrder(@RequestBody @Valid OrderUpdateRequestDto orderUpdateRequestDto) {
+    public ResponseEntity<OrderResponseDto> updateOrder(
+            @RequestBody @Valid OrderUpdateRequestDto orderUpdateRequestDto,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        OrderResponseDto response = orderService.update(orderUpdateRequestDto, VersionETags.toVersion(ifMatch));
         return ResponseEntity.status(HttpStatus.OK)
-                .body(orderService.update(orderUpdateRequestDto));
+                .eTag(VersionETags.of(response.getVersion()))
+                .body(response);
     }
 
+    // Responds with the number of updated orders, orders that can't change status are skipped
+    @PutMapping("/bulk/status")
+    public ResponseEntity<OrderStatusBulkUpdateResultDto> updateOrderStatuses(
+            @RequestBody @Valid OrderStatusBulkUpdateRequestDto orderStatusBulkUpdateRequestDto
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(orderService.updateStatuses(orderStatusBulkUpdateRequestDto));
+    }
+
+    // Matching If-None-Match is answered with 304 by Spring MVC, since the response carries the ETag
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable @Positive Long id) {
+        OrderResponseDto response = orderService.getById(id);
         return ResponseEntity.status(HttpStatus.OK)
-                .body(orderService.getById(id));
+                .eTag(VersionETags.of(response.getVersion()))
+                .body(response);
     }
 
     @GetMapping(params = "ids")
@@ -66,15 +132,87 @@ public class OrderController {
                 .body(orderService.getAllByStatus(status));
     }
 
+    @GetMapping(path = "/by-status", params = { "status", "limit" })
+    public ResponseEntity<CursorPageDto<OrderResponseDto>> getOrdersByStatusPage(
+            @RequestParam OrderStatus status,
+            @RequestParam @Positive @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String after
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(orderService.getPageByStatus(status, after, limit));
+    }
+
+    @GetMapping(path = "/by-user", params = "email")
+    public ResponseEntity<CursorPageDto<OrderResponseDto>> getOrdersByUser(
+            @RequestParam @NotBlank @Email String email,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) @Positive Long after
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(orderService.getPageByUser(email, after, limit));
+    }
+
     @GetMapping
     public ResponseEntity<List<OrderResponseDto>> getAllOrders() {
         return ResponseEntity.status(HttpStatus.OK)
                 .body(orderService.getAll());
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<OrderResponseDto>> getOrdersPage(
+            @RequestParam @Positive @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long after
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(orderService.getPage(after, limit));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders() {
+        StreamingResponseBody body = outputStream ->
+                orderService.streamAll(new NdjsonWriter<>(outputStream, objectMapper));
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Full export for offline processing, filter is checked before anything is written.
+    // Gzip is applied here instead of by the server, so it doesn't depend on server compression settings
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "CSV") FileFormat format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        OrderExportFilter filter = new OrderExportFilter(status, from, to);
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                orderExportService.export(filter, format, outputStream);
+                return;
+            }
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            orderExportService.export(filter, format, gzipOutputStream);
+            gzipOutputStream.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(format == FileFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders."
+                        + format.name().toLowerCase() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteOrderById(@PathVariable @Positive Long id) {
-        orderService.deleteById(id);
+    public ResponseEntity<Void> deleteOrderById(
+            @PathVariable @Positive Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        orderService.deleteById(id, VersionETags.toVersion(ifMatch));
         return ResponseEntity.status(HttpStatus.OK)
                 .build();
     }
@@ -0,0 +1,80 @@
+package com.app.impl.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.report.ItemDailySalesDto;
+import com.app.impl.dto.report.ItemSalesDto;
+import com.app.impl.dto.report.OrderDailyStatsDto;
+import com.app.impl.service.report.ReportRollup;
+import com.app.impl.service.report.ReportService;
+
+// Days are order creation days, both ends of a range are included
+@RestController
+@RequestMapping("/api/reports")
+@Validated
+public class ReportController {
+    private static final int MAX_TOP_SIZE = 1000;
+    private static final int DEFAULT_TOP_SIZE = 10;
+
+    private final ReportService reportService;
+    private final ReportRollup reportRollup;
+
+    @Autowired
+    public ReportController(ReportService reportService, ReportRollup reportRollup) {
+        this.reportService = reportService;
+        this.reportRollup = reportRollup;
+    }
+
+    @GetMapping("/orders/daily")
+    public ResponseEntity<List<OrderDailyStatsDto>> getOrderStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(reportService.getOrderStats(from, to, status));
+    }
+
+    @GetMapping("/items/daily")
+    public ResponseEntity<List<ItemDailySalesDto>> getItemSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(reportService.getItemSales(from, to));
+    }
+
+    @GetMapping("/items/top")
+    public ResponseEntity<List<ItemSalesDto>> getTopItems(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "" + DEFAULT_TOP_SIZE) @Positive @Max(MAX_TOP_SIZE) int limit
+    ) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(reportService.getTopItems(from, to, limit));
+    }
+
+    // Recovery only, recomputes all aggregates from orders
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        reportRollup.rebuild();
+        return ResponseEntity.status(HttpStatus.OK)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.impl.controller;
+
+import com.app.impl.exception.InvalidEntityTagException;
+
+// Order version as a strong entity tag: "<version>"
+final class VersionETags {
+    private static final String ANY = "*";
+
+    private VersionETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Null for a missing header or "*". Weak tags, lists and tags that aren't a version are rejected
+    static Long toVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new InvalidEntityTagException(ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new InvalidEntityTagException(ifMatch);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.app.impl.domain;
+
+public enum FileFormat {
+    CSV,
+    NDJSON
+}
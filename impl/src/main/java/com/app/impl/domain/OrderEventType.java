@@ -0,0 +1,7 @@
+package com.app.impl.domain;
+
+public enum OrderEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
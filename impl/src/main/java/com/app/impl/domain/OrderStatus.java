@@ -1,7 +1,27 @@
 package com.app.impl.domain;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public enum OrderStatus {
     IN_PROCESS,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // Transitions of bulk status updates, completed and cancelled orders are final there.
+    // Single order update isn't restricted by them
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case IN_PROCESS -> target == COMPLETED || target == CANCELLED;
+            case COMPLETED, CANCELLED -> false;
+        };
+    }
+
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        return Arrays.stream(values())
+                .filter(status -> status.canTransitionTo(target))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(OrderStatus.class)));
+    }
 }
@@ -0,0 +1,16 @@
+package com.app.impl.dto.event;
+
+import java.time.LocalDateTime;
+
+import com.app.impl.domain.OrderEventType;
+import com.app.impl.domain.OrderStatus;
+
+public record OrderEventDto(
+        Long id,
+        Long orderId,
+        OrderEventType type,
+        String userEmail,
+        OrderStatus status,
+        Long orderVersion,
+        LocalDateTime createdAt
+) { }
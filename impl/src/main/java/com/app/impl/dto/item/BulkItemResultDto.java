@@ -0,0 +1,28 @@
+package com.app.impl.dto.item;
+
+// Outcome of a single item of a batch request, error is set only for failed ones
+public record BulkItemResultDto(
+        int index,
+        Long id,
+        Status status,
+        String error
+) {
+    public static BulkItemResultDto succeeded(int index, Long id, Status status) {
+        return new BulkItemResultDto(index, id, status, null);
+    }
+
+    public static BulkItemResultDto failed(int index, Long id, Status status, String error) {
+        return new BulkItemResultDto(index, id, status, error);
+    }
+
+    // EXISTING is an item with the same name and price that was there already or earlier in the batch
+    public enum Status {
+        CREATED,
+        EXISTING,
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        CONFLICT,
+        FAILED
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.impl.dto.item;
+
+import java.util.List;
+
+// Rows are counted without the header and blank lines. Skipped rows are valid ones whose item
+// (name and price) already exists or repeats an earlier row, only the first errors are listed
+public record ItemImportResultDto(
+        long rows,
+        long imported,
+        long skipped,
+        long failed,
+        List<ItemImportErrorDto> errors
+) {
+    // Row is the 1-based number of the data row, for NDJSON it's the line number
+    public record ItemImportErrorDto(
+            long row,
+            String error
+    ) { }
+}
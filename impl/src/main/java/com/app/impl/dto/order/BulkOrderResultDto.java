@@ -0,0 +1,16 @@
+package com.app.impl.dto.order;
+
+// Outcome of a single order from bulk request, exactly one of order and error is set
+public record BulkOrderResultDto(
+        int index,
+        OrderResponseDto order,
+        String error
+) {
+    public static BulkOrderResultDto created(int index, OrderResponseDto order) {
+        return new BulkOrderResultDto(index, order, null);
+    }
+
+    public static BulkOrderResultDto failed(int index, String error) {
+        return new BulkOrderResultDto(index, null, error);
+    }
+}
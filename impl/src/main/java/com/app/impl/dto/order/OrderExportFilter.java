@@ -0,0 +1,28 @@
+package com.app.impl.dto.order;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.exception.InvalidDateRangeException;
+
+// Every part is optional, days are creation days and both ends of the range are included
+public record OrderExportFilter(
+        OrderStatus status,
+        LocalDate from,
+        LocalDate to
+) {
+    public OrderExportFilter {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+    }
+
+    public LocalDateTime createdFrom() {
+        return from == null ? null : from.atStartOfDay();
+    }
+
+    public LocalDateTime createdBefore() {
+        return to == null ? null : to.plusDays(1).atStartOfDay();
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.impl.dto.order;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.time.LocalDateTime;
 
@@ -19,10 +20,13 @@ public class OrderResponseDto {
     private LocalDateTime creationDate;
     private List<OrderItemResponseDto> orderItems;
     private UserResponseDto userDto;
+    private Long version;
+    private BigDecimal totalPrice;
 
     public record OrderItemResponseDto(
             Long id,
             Long itemId,
-            int quantity
+            int quantity,
+            BigDecimal unitPrice
     ) { }
 }
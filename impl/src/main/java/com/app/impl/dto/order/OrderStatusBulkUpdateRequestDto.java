@@ -0,0 +1,34 @@
+package com.app.impl.dto.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import com.app.impl.domain.OrderStatus;
+
+// Orders are selected either by ids, or by their current status and creation date
+public record OrderStatusBulkUpdateRequestDto(
+        @Size(max = 10000)
+        List<@NotNull @Positive Long> ids,
+
+        OrderStatus fromStatus,
+
+        LocalDateTime createdBefore,
+
+        @NotNull
+        OrderStatus status
+) {
+    @JsonIgnore
+    @AssertTrue(message = "either ids or fromStatus with createdBefore must be set")
+    public boolean isSelectionValid() {
+        return ids != null
+                ? !ids.isEmpty() && fromStatus == null && createdBefore == null
+                : fromStatus != null && createdBefore != null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.app.impl.dto.order;
+
+import java.util.List;
+
+// Skipped ids are missing orders and orders whose status can't change to the requested one,
+// they are reported only for updates by ids
+public record OrderStatusBulkUpdateResultDto(
+        int updated,
+        List<Long> skippedIds
+) { }
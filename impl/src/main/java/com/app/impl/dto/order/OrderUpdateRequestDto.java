@@ -2,14 +2,23 @@ package com.app.impl.dto.order;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 import com.app.impl.domain.OrderStatus;
 
+// Version is optional, when set the update is applied only to that version of the order
 public record OrderUpdateRequestDto(
         @NotNull
         @Positive
         Long id,
 
         @NotNull
-        OrderStatus status
-) { }
+        OrderStatus status,
+
+        @PositiveOrZero
+        Long version
+) {
+    public OrderUpdateRequestDto(Long id, OrderStatus status) {
+        this(id, status, null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.app.impl.dto.page;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.app.impl.exception.InvalidCursorException;
+
+// Position in pages ordered by creation date and id, clients get it as an opaque string
+public record CreationDateCursor(
+        LocalDateTime creationDate,
+        Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String value = creationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CreationDateCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new CreationDateCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.app.impl.dto.page;
+
+import java.util.List;
+
+// nextCursor is null when there are no more elements after this page
+public record CursorPageDto<T>(
+        List<T> content,
+        String nextCursor
+) { }
@@ -0,0 +1,10 @@
+package com.app.impl.dto.report;
+
+import java.time.LocalDate;
+
+// Quantity of the item in orders created on the day, in any status
+public record ItemDailySalesDto(
+        LocalDate day,
+        Long itemId,
+        long quantity
+) { }
@@ -0,0 +1,6 @@
+package com.app.impl.dto.report;
+
+public record ItemSalesDto(
+        Long itemId,
+        long quantity
+) { }
@@ -0,0 +1,14 @@
+package com.app.impl.dto.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.app.impl.domain.OrderStatus;
+
+// Orders created on the day that are currently in the status, revenue is the sum of their totals
+public record OrderDailyStatsDto(
+        LocalDate day,
+        OrderStatus status,
+        long orderCount,
+        BigDecimal revenue
+) { }
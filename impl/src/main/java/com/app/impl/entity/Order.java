@@ -1,5 +1,6 @@
 package com.app.impl.entity;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,9 +14,11 @@ import jakarta.persistence.Index;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.Version;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -34,6 +37,10 @@ import com.app.impl.domain.OrderStatus;
                 @Index(
                         name = "idx_orders_user_email",
                         columnList = "user_email"
+                ),
+                @Index(
+                        name = "idx_orders_status_creation_date_id",
+                        columnList = "status, creation_date DESC, id DESC"
                 )
         }
 )
@@ -44,7 +51,8 @@ import com.app.impl.domain.OrderStatus;
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -62,4 +70,13 @@ public class Order {
     // With cascading automatically saves OrderItems in DB
     @OneToMany(mappedBy = "order", orphanRemoval = true, cascade = CascadeType.ALL)
     private List<OrderItem> orderItems = new ArrayList<>();
+
+    // Checked and incremented by every update, concurrent changes of the same order fail instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Sum of unit price times quantity of the lines, computed once on create
+    @Column(name = "total_price", precision = 19, scale = 3, nullable = false)
+    private BigDecimal totalPrice = BigDecimal.ZERO;
 }
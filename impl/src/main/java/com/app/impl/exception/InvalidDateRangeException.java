@@ -0,0 +1,9 @@
+package com.app.impl.exception;
+
+import java.time.LocalDate;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(LocalDate from, LocalDate to) {
+        super("Date range start " + from + " is after its end " + to);
+    }
+}
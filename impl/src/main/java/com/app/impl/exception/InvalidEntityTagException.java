@@ -0,0 +1,7 @@
+package com.app.impl.exception;
+
+public class InvalidEntityTagException extends RuntimeException {
+    public InvalidEntityTagException(String tag) {
+        super("Invalid entity tag: " + tag);
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.impl.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super("Import file can't be read: " + message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.app.impl.exception;
+
+import com.app.impl.domain.OrderStatus;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    public InvalidStatusTransitionException(OrderStatus from, OrderStatus to) {
+        super("Order status can't change from " + from + " to " + to);
+    }
+
+    public InvalidStatusTransitionException(OrderStatus to) {
+        super("No order status can change to " + to);
+    }
+}
@@ -1,7 +1,13 @@
 package com.app.impl.exception;
 
+import java.util.Collection;
+
 public class NoSuchUserException extends RuntimeException {
     public NoSuchUserException(String email) {
         super("No such user with email: " + email);
     }
+
+    public NoSuchUserException(Collection<String> emails) {
+        super("No such users with emails: " + emails);
+    }
 }
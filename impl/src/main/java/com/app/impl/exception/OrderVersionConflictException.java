@@ -0,0 +1,7 @@
+package com.app.impl.exception;
+
+public class OrderVersionConflictException extends RuntimeException {
+    public OrderVersionConflictException(Long id) {
+        super("Order with id " + id + " was changed by another request");
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.impl.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(Long id) {
+        super("Order with id " + id + " doesn't match the If-Match version");
+    }
+}
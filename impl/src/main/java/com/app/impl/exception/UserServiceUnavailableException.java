@@ -0,0 +1,7 @@
+package com.app.impl.exception;
+
+public class UserServiceUnavailableException extends RuntimeException {
+    public UserServiceUnavailableException(Throwable cause) {
+        super("User service is unavailable: " + cause.getMessage(), cause);
+    }
+}
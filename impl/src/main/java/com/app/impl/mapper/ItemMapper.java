@@ -17,6 +17,8 @@ import com.app.impl.entity.Item;
 public interface ItemMapper {
     Item toEntity(ItemRequestDto itemRequestDto);
 
+    Item toEntity(ItemResponseDto itemResponseDto);
+
     ItemResponseDto toResponse(Item item);
 
     List<ItemResponseDto> toResponseList(List<Item> items);
@@ -0,0 +1,30 @@
+package com.app.impl.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import com.app.impl.domain.OrderEventType;
+import com.app.impl.dto.event.OrderEventDto;
+import com.app.impl.entity.Order;
+import com.app.impl.entity.OrderEvent;
+
+@Mapper(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedSourcePolicy = ReportingPolicy.IGNORE,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public interface OrderEventMapper {
+    // order has to be saved already, its id is copied
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(source = "order.id", target = "orderId")
+    @Mapping(source = "order.userEmail", target = "userEmail")
+    @Mapping(source = "order.status", target = "status")
+    @Mapping(source = "order.version", target = "orderVersion")
+    @Mapping(source = "type", target = "type")
+    OrderEvent toEvent(Order order, OrderEventType type);
+
+    OrderEventDto toDto(OrderEvent orderEvent);
+}
@@ -0,0 +1,35 @@
+package com.app.impl.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.app.impl.entity.Item;
+
+// Writes changes of items loaded earlier as a single JDBC batch, without loading them into a persistence context
+@Repository
+public class ItemBatchRepository {
+    private static final String UPDATE_ITEM = """
+            UPDATE items SET name = ?, price = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ItemBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns updated rows count of every item, 0 for an item deleted in the meantime
+    public int[] updateAll(List<Item> items) {
+        return jdbcTemplate.batchUpdate(
+                UPDATE_ITEM,
+                items.stream()
+                        .map(item -> new Object[] { item.getName(), item.getPrice(), item.getId() })
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package com.app.impl.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.app.impl.dto.item.ItemImportResultDto.ItemImportErrorDto;
+import com.app.impl.exception.InvalidImportFileException;
+
+// Catalog import through a staging table. The file is copied into text columns with COPY, so a bad
+// value fails only its row, then rows are checked and merged into items by set based statements.
+// Staging table is dropped on commit, so all methods must be called in one transaction
+@Repository
+public class ItemImportRepository {
+    // Must match allocationSize of Item, see create_id_sequences changeset
+    private static final int ID_BLOCK_SIZE = 50;
+    // SQLSTATE class of data exceptions, raised by COPY for malformed files
+    private static final String DATA_EXCEPTION_CLASS = "22";
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE item_import (
+                row_no bigint GENERATED ALWAYS AS IDENTITY,
+                raw text,
+                name text,
+                price text,
+                error text
+            ) ON COMMIT DROP
+            """;
+    // Header has to be "name,price"
+    private static final String COPY_CSV = """
+            COPY item_import (name, price) FROM STDIN WITH (FORMAT csv, HEADER MATCH)
+            """;
+    // Every line goes into raw as is: delimiter and quote are control characters that don't appear in JSON text
+    private static final String COPY_NDJSON = """
+            COPY item_import (raw) FROM STDIN WITH (FORMAT csv, DELIMITER E'\\x01', QUOTE E'\\x02')
+            """;
+    private static final String DELETE_BLANK_LINES = """
+            DELETE FROM item_import WHERE raw IS NULL OR btrim(raw) = ''
+            """;
+    // CASE keeps invalid JSON from being cast
+    private static final String PARSE_NDJSON = """
+            UPDATE item_import i
+            SET name = d.doc ->> 'name',
+                price = d.doc ->> 'price',
+                error = CASE WHEN jsonb_typeof(d.doc) = 'object' THEN NULL ELSE 'row must be a JSON object' END
+            FROM (
+                SELECT row_no, CASE WHEN pg_input_is_valid(raw, 'jsonb') THEN CAST(raw AS jsonb) END AS doc
+                FROM item_import
+            ) d
+            WHERE d.row_no = i.row_no
+            """;
+    // Same rules as ItemRequestDto, price has to fit decimal(10,3) of items
+    private static final String VALIDATE = """
+            UPDATE item_import SET error = CASE
+                    WHEN name IS NULL OR btrim(name) = '' THEN 'name must not be blank'
+                    WHEN char_length(name) > 50 THEN 'name must be at most 50 characters long'
+                    WHEN price IS NULL OR price = '' THEN 'price must not be blank'
+                    WHEN price !~ '^[0-9]{1,7}([.][0-9]{1,3})?$'
+                        THEN 'price must be a number with at most 7 integer and 3 fraction digits'
+                    WHEN CAST(price AS numeric) <= 0 THEN 'price must be positive'
+                END
+            WHERE error IS NULL
+            """;
+    private static final String COUNT_ROWS = """
+            SELECT count(*) AS rows, count(error) AS failed FROM item_import
+            """;
+    private static final String SELECT_ERRORS = """
+            SELECT row_no, error FROM item_import
+            WHERE error IS NOT NULL
+            ORDER BY row_no
+            LIMIT ?
+            """;
+    // Ids are taken from items_seq a block at a time, the way the pooled optimizer of Hibernate does:
+    // a sequence value V reserves ids V - 49 .. V. Rows repeating an existing item or an earlier row are skipped
+    private static final String MERGE = """
+            WITH valid AS (
+                SELECT name, CAST(price AS numeric(10,3)) AS price, row_number() OVER (ORDER BY row_no) - 1 AS n
+                FROM item_import
+                WHERE error IS NULL
+            ), blocks AS (
+                SELECT block, nextval('items_seq') AS last_id
+                FROM generate_series(0, (SELECT (count(*) - 1) / %1$d FROM valid)) AS block
+            )
+            INSERT INTO items (id, name, price)
+            SELECT blocks.last_id - %1$d + 1 + valid.n %% %1$d, valid.name, valid.price
+            FROM valid
+            JOIN blocks ON blocks.block = valid.n / %1$d
+            ORDER BY valid.n
+            ON CONFLICT ON CONSTRAINT uk_items_name_price DO NOTHING
+            """.formatted(ID_BLOCK_SIZE);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ItemImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createStagingTable() {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+    }
+
+    // Header is checked by COPY, values are checked by validate()
+    public long copyCsv(InputStream inputStream) {
+        return copy(COPY_CSV, inputStream);
+    }
+
+    // Blank lines are dropped, the rest is parsed into name and price
+    public long copyNdjson(InputStream inputStream) {
+        copy(COPY_NDJSON, inputStream);
+        jdbcTemplate.update(DELETE_BLANK_LINES);
+        return jdbcTemplate.update(PARSE_NDJSON);
+    }
+
+    // Sets error of every invalid row, rows that already have one are kept as they are
+    public void validate() {
+        jdbcTemplate.update(VALIDATE);
+    }
+
+    public StagingCounts count() {
+        return jdbcTemplate.queryForObject(
+                COUNT_ROWS,
+                (rs, rowNum) -> new StagingCounts(rs.getLong("rows"), rs.getLong("failed"))
+        );
+    }
+
+    public List<ItemImportErrorDto> findErrors(int limit) {
+        return jdbcTemplate.query(
+                SELECT_ERRORS,
+                (rs, rowNum) -> new ItemImportErrorDto(rs.getLong("row_no"), rs.getString("error")),
+                limit
+        );
+    }
+
+    // Returns the number of inserted items
+    public int merge() {
+        return jdbcTemplate.update(MERGE);
+    }
+
+    // Request body goes to the server as it's read, without being buffered as a whole
+    private long copy(String sql, InputStream inputStream) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(sql, inputStream);
+            } catch (SQLException ex) {
+                if (ex.getSQLState() != null && ex.getSQLState().startsWith(DATA_EXCEPTION_CLASS)) {
+                    throw new InvalidImportFileException(ex.getMessage());
+                }
+                throw ex;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    public record StagingCounts(
+            long rows,
+            long failed
+    ) { }
+}
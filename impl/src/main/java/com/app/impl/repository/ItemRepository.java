@@ -1,8 +1,25 @@
 package com.app.impl.repository;
 
-import com.app.impl.entity.Item;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.app.impl.entity.Item;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    List<Item> findAllByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Through idx_items_name, prices are compared by the caller
+    List<Item> findAllByNameIn(Collection<String> names);
+
+    // Must be consumed inside a transaction, fetch size makes PostgreSQL driver use a cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Item> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,21 @@
+package com.app.impl.repository;
+
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.app.impl.entity.OrderEvent;
+
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+    // Lock timeout -2 is SKIP LOCKED: relays of several instances take different batches instead of waiting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<OrderEvent> findAllByOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,107 @@
+package com.app.impl.repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.OrderExportFilter;
+
+// Export reads orders joined with their lines through a server side cursor. PostgreSQL driver
+// fetches rows in batches of FETCH_SIZE only inside a transaction (auto-commit off) and for a
+// forward-only result set, otherwise it loads the whole result at once
+@Repository
+public class OrderExportRepository {
+    private static final int FETCH_SIZE = 1000;
+    private static final String SELECT_ROWS = """
+            SELECT o.id, o.user_email, o.status, o.creation_date, o.total_price, o.version,
+                   oi.id, oi.item_id, oi.quantity, oi.unit_price
+            FROM orders o
+            LEFT JOIN order_items oi ON oi.order_id = o.id
+            %s
+            ORDER BY o.id, oi.id
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    @Autowired
+    public OrderExportRepository(DataSource dataSource) {
+        // own template, so the fetch size doesn't affect other queries
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.jdbcClient = JdbcClient.create(jdbcTemplate);
+    }
+
+    // Must be called in a transaction. Rows of an order are next to each other,
+    // an order without lines has a single row with null line columns
+    public void forEachRow(OrderExportFilter filter, Consumer<ExportRow> consumer) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.status() != null) {
+            conditions.add("o.status = :status");
+        }
+        if (filter.from() != null) {
+            conditions.add("o.creation_date >= :createdFrom");
+        }
+        if (filter.to() != null) {
+            conditions.add("o.creation_date < :createdBefore");
+        }
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+
+        JdbcClient.StatementSpec statement = jdbcClient.sql(SELECT_ROWS.formatted(where));
+        if (filter.status() != null) {
+            statement = statement.param("status", filter.status().name());
+        }
+        if (filter.from() != null) {
+            statement = statement.param("createdFrom", filter.createdFrom());
+        }
+        if (filter.to() != null) {
+            statement = statement.param("createdBefore", filter.createdBefore());
+        }
+        RowCallbackHandler handler = rs -> consumer.accept(toRow(rs));
+        statement.query(handler);
+    }
+
+    // Columns are read by position of SELECT_ROWS
+    private static ExportRow toRow(ResultSet rs) throws SQLException {
+        long orderItemId = rs.getLong(7);
+        boolean hasLine = !rs.wasNull();
+        return new ExportRow(
+                rs.getLong(1),
+                rs.getString(2),
+                OrderStatus.valueOf(rs.getString(3)),
+                rs.getObject(4, LocalDateTime.class),
+                rs.getBigDecimal(5),
+                rs.getLong(6),
+                hasLine ? orderItemId : null,
+                hasLine ? rs.getLong(8) : null,
+                hasLine ? rs.getInt(9) : null,
+                rs.getBigDecimal(10)
+        );
+    }
+
+    // Line columns are null for an order without lines
+    public record ExportRow(
+            long orderId,
+            String userEmail,
+            OrderStatus status,
+            LocalDateTime creationDate,
+            BigDecimal totalPrice,
+            long version,
+            Long orderItemId,
+            Long itemId,
+            Integer quantity,
+            BigDecimal unitPrice
+    ) { }
+}
@@ -0,0 +1,134 @@
+package com.app.impl.repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.dto.order.OrderResponseDto.OrderItemResponseDto;
+import com.app.impl.dto.page.CreationDateCursor;
+
+// Read model of list endpoints. Orders and their lines come from one joined query and are
+// assembled into response dtos directly, without managed entities and mapping
+@Repository
+public class OrderReadRepository {
+    // Orders are selected by the inner query (filter, order, limit), then joined with their lines.
+    // Outer order keeps lines of an order next to each other
+    private static final String SELECT_ORDERS = """
+            SELECT o.id, o.user_email, o.status, o.creation_date, oi.id, oi.item_id, oi.quantity, o.version,
+                   o.total_price, oi.unit_price
+            FROM (SELECT id, user_email, status, creation_date, version, total_price FROM orders %s) o
+            LEFT JOIN order_items oi ON oi.order_id = o.id
+            ORDER BY %s, oi.id
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    @Autowired
+    public OrderReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public List<OrderRow> findAll() {
+        return jdbcClient.sql(SELECT_ORDERS.formatted("", "o.id"))
+                .query(OrderReadRepository::toRows);
+    }
+
+    public List<OrderRow> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcClient.sql(SELECT_ORDERS.formatted("WHERE id IN (:ids)", "o.id"))
+                .param("ids", ids)
+                .query(OrderReadRepository::toRows);
+    }
+
+    public List<OrderRow> findAllByStatus(OrderStatus status) {
+        return jdbcClient.sql(SELECT_ORDERS.formatted("WHERE status = :status", "o.id"))
+                .param("status", status.name())
+                .query(OrderReadRepository::toRows);
+    }
+
+    public List<OrderRow> findPageAfterId(Long after, int limit) {
+        return jdbcClient.sql(SELECT_ORDERS.formatted("WHERE id > :after ORDER BY id LIMIT :limit", "o.id"))
+                .param("after", after)
+                .param("limit", limit)
+                .query(OrderReadRepository::toRows);
+    }
+
+    // Newest first, through idx_orders_user_email
+    public List<OrderRow> findPageByUserEmail(String userEmail, Long before, int limit) {
+        return jdbcClient.sql(SELECT_ORDERS.formatted(
+                        "WHERE user_email = :userEmail AND id < :before ORDER BY id DESC LIMIT :limit",
+                        "o.id DESC"
+                ))
+                .param("userEmail", userEmail)
+                .param("before", before)
+                .param("limit", limit)
+                .query(OrderReadRepository::toRows);
+    }
+
+    // Newest first, a range of idx_orders_status_creation_date_id starting right after the cursor
+    public List<OrderRow> findPageByStatus(OrderStatus status, CreationDateCursor before, int limit) {
+        String filter = before == null
+                ? "WHERE status = :status"
+                : "WHERE status = :status AND (creation_date, id) < (:creationDate, :id)";
+        JdbcClient.StatementSpec statement = jdbcClient.sql(SELECT_ORDERS.formatted(
+                        filter + " ORDER BY creation_date DESC, id DESC LIMIT :limit",
+                        "o.creation_date DESC, o.id DESC"
+                ))
+                .param("status", status.name())
+                .param("limit", limit);
+        if (before != null) {
+            statement = statement
+                    .param("creationDate", before.creationDate())
+                    .param("id", before.id());
+        }
+        return statement.query(OrderReadRepository::toRows);
+    }
+
+    // Columns are read by position of SELECT_ORDERS
+    private static List<OrderRow> toRows(ResultSet rs) throws SQLException {
+        List<OrderRow> rows = new ArrayList<>();
+        OrderRow current = null;
+        while (rs.next()) {
+            long id = rs.getLong(1);
+            if (current == null || current.order().getId() != id) {
+                OrderResponseDto order = new OrderResponseDto(
+                        id,
+                        OrderStatus.valueOf(rs.getString(3)),
+                        rs.getObject(4, LocalDateTime.class),
+                        new ArrayList<>(),
+                        null,
+                        rs.getLong(8),
+                        rs.getBigDecimal(9)
+                );
+                current = new OrderRow(rs.getString(2), order);
+                rows.add(current);
+            }
+
+            // order without lines has a single row of nulls on the right side
+            long orderItemId = rs.getLong(5);
+            if (!rs.wasNull()) {
+                current.order().getOrderItems().add(
+                        new OrderItemResponseDto(orderItemId, rs.getLong(6), rs.getInt(7), rs.getBigDecimal(10))
+                );
+            }
+        }
+        return rows;
+    }
+
+    public record OrderRow(
+            String userEmail,
+            OrderResponseDto order
+    ) { }
+}
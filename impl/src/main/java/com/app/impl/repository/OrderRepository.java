@@ -1,12 +1,81 @@
 package com.app.impl.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.app.impl.entity.Order;
-import com.app.impl.domain.OrderStatus;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findAllByStatus(OrderStatus status);
+    // Status transitions are set-based: one statement updates the orders and writes their outbox events
+    // and report deltas. Version is bumped as well, so entities read before the statement can't overwrite it.
+    // An event takes the sequence value itself as id: pooled optimizer uses value - 49 .. value of a value it got,
+    // so the value taken here is never handed out by Hibernate
+    // Locked rows carry the status they are moved from, re-read if a concurrent change was waited for
+    @Query(nativeQuery = true, value = """
+            WITH locked AS (
+                SELECT id, status FROM orders
+                WHERE id IN (:ids) AND status IN (:fromStatuses)
+                FOR UPDATE
+            ), updated AS (
+                UPDATE orders o SET status = :status, version = o.version + 1
+                FROM locked
+                WHERE o.id = locked.id
+                RETURNING o.id, o.user_email, o.status, o.version, locked.status AS previous_status, o.creation_date,
+                    o.total_price
+            ), events AS (
+                INSERT INTO order_events (id, order_id, type, user_email, status, order_version, created_at)
+                SELECT nextval('order_events_seq'), id, :eventType, user_email, status, version, :now
+                FROM updated
+            ), deltas AS (
+                INSERT INTO order_stats_deltas (day, status, order_count, revenue)
+                SELECT CAST(creation_date AS date), previous_status, -count(*), -sum(total_price)
+                FROM updated
+                GROUP BY CAST(creation_date AS date), previous_status
+                UNION ALL
+                SELECT CAST(creation_date AS date), status, count(*), sum(total_price)
+                FROM updated
+                GROUP BY CAST(creation_date AS date), status
+            )
+            SELECT id FROM updated
+            """)
+    List<Long> updateStatusByIds(
+            Collection<Long> ids,
+            Collection<String> fromStatuses,
+            String status,
+            String eventType,
+            LocalDateTime now
+    );
+
+    @Query(nativeQuery = true, value = """
+            WITH updated AS (
+                UPDATE orders SET status = :status, version = version + 1
+                WHERE status = :fromStatus AND creation_date < :createdBefore
+                RETURNING id, user_email, status, version, creation_date, total_price
+            ), events AS (
+                INSERT INTO order_events (id, order_id, type, user_email, status, order_version, created_at)
+                SELECT nextval('order_events_seq'), id, :eventType, user_email, status, version, :now
+                FROM updated
+            ), deltas AS (
+                INSERT INTO order_stats_deltas (day, status, order_count, revenue)
+                SELECT CAST(creation_date AS date), CAST(:fromStatus AS varchar), -count(*), -sum(total_price)
+                FROM updated
+                GROUP BY CAST(creation_date AS date)
+                UNION ALL
+                SELECT CAST(creation_date AS date), status, count(*), sum(total_price)
+                FROM updated
+                GROUP BY CAST(creation_date AS date), status
+            )
+            SELECT count(*) FROM updated
+            """)
+    long updateStatusByStatus(
+            String fromStatus,
+            LocalDateTime createdBefore,
+            String status,
+            String eventType,
+            LocalDateTime now
+    );
 }
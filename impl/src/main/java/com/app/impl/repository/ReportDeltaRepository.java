@@ -0,0 +1,88 @@
+package com.app.impl.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.entity.Order;
+import com.app.impl.entity.OrderItem;
+
+// Signed changes of report aggregates, written in the transaction of the order change.
+// Rows are only inserted, so concurrent order writes never wait for each other here
+@Repository
+public class ReportDeltaRepository {
+    private static final String INSERT_ORDER_STATS = """
+            INSERT INTO order_stats_deltas (day, status, order_count, revenue)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String INSERT_ITEM_SALES = """
+            INSERT INTO item_sales_deltas (day, item_id, quantity)
+            VALUES (?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReportDeltaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Orders must be persisted, creation date is set on persist
+    public void recordCreated(Collection<Order> orders) {
+        List<Object[]> orderStats = new ArrayList<>(orders.size());
+        List<Object[]> itemSales = new ArrayList<>();
+        for (Order order : orders) {
+            orderStats.add(orderStats(order, order.getStatus(), 1));
+            itemSales.addAll(itemSales(order, 1));
+        }
+        insert(orderStats, itemSales);
+    }
+
+    public void recordStatusChanged(Order order, OrderStatus previousStatus) {
+        insert(
+                List.of(orderStats(order, previousStatus, -1), orderStats(order, order.getStatus(), 1)),
+                List.of()
+        );
+    }
+
+    public void recordDeleted(Order order) {
+        insert(List.<Object[]>of(orderStats(order, order.getStatus(), -1)), itemSales(order, -1));
+    }
+
+    private void insert(List<Object[]> orderStats, List<Object[]> itemSales) {
+        if (!orderStats.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORDER_STATS, orderStats);
+        }
+        if (!itemSales.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SALES, itemSales);
+        }
+    }
+
+    private static Object[] orderStats(Order order, OrderStatus status, int sign) {
+        return new Object[] {
+                day(order),
+                status.name(),
+                (long) sign,
+                sign < 0 ? order.getTotalPrice().negate() : order.getTotalPrice()
+        };
+    }
+
+    private static List<Object[]> itemSales(Order order, int sign) {
+        LocalDate day = day(order);
+        List<Object[]> rows = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem orderItem : order.getOrderItems()) {
+            rows.add(new Object[] { day, orderItem.getItem().getId(), (long) sign * orderItem.getQuantity() });
+        }
+        return rows;
+    }
+
+    private static LocalDate day(Order order) {
+        return order.getCreationDate().toLocalDate();
+    }
+}
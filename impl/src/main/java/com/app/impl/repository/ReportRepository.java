@@ -0,0 +1,170 @@
+package com.app.impl.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.report.ItemDailySalesDto;
+import com.app.impl.dto.report.ItemSalesDto;
+import com.app.impl.dto.report.OrderDailyStatsDto;
+
+// Report aggregates: reads touch only the aggregate tables, writes fold deltas into them or rebuild them
+@Repository
+public class ReportRepository {
+    // A batch of deltas is removed and added to the aggregates in one statement. Groups are upserted
+    // in key order, so concurrent rollups lock aggregate rows in the same order
+    private static final String FOLD_ORDER_STATS = """
+            WITH folded AS (
+                DELETE FROM order_stats_deltas
+                WHERE id IN (SELECT id FROM order_stats_deltas ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED)
+                RETURNING day, status, order_count, revenue
+            )
+            INSERT INTO order_daily_stats AS s (day, status, order_count, revenue)
+            SELECT day, status, sum(order_count), sum(revenue)
+            FROM folded
+            GROUP BY day, status
+            ORDER BY day, status
+            ON CONFLICT (day, status) DO UPDATE
+            SET order_count = s.order_count + EXCLUDED.order_count,
+                revenue = s.revenue + EXCLUDED.revenue
+            """;
+    private static final String FOLD_ITEM_SALES = """
+            WITH folded AS (
+                DELETE FROM item_sales_deltas
+                WHERE id IN (SELECT id FROM item_sales_deltas ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED)
+                RETURNING day, item_id, quantity
+            )
+            INSERT INTO item_daily_sales AS s (day, item_id, quantity)
+            SELECT day, item_id, sum(quantity)
+            FROM folded
+            GROUP BY day, item_id
+            ORDER BY day, item_id
+            ON CONFLICT (day, item_id) DO UPDATE
+            SET quantity = s.quantity + EXCLUDED.quantity
+            """;
+
+    // Writers of deltas don't wait for a rebuild: their deltas are either in the snapshot
+    // together with their orders and are dropped, or aren't and are folded later
+    private static final List<String> REBUILD = List.of(
+            "DELETE FROM order_stats_deltas",
+            "DELETE FROM item_sales_deltas",
+            "DELETE FROM order_daily_stats",
+            "DELETE FROM item_daily_sales",
+            """
+            INSERT INTO order_daily_stats (day, status, order_count, revenue)
+            SELECT CAST(creation_date AS date), status, count(*), sum(total_price)
+            FROM orders
+            GROUP BY CAST(creation_date AS date), status
+            """,
+            """
+            INSERT INTO item_daily_sales (day, item_id, quantity)
+            SELECT CAST(o.creation_date AS date), oi.item_id, sum(oi.quantity)
+            FROM order_items oi
+            JOIN orders o ON o.id = oi.order_id
+            GROUP BY CAST(o.creation_date AS date), oi.item_id
+            """
+    );
+
+    // Key of the transaction level advisory lock held by rollup batches and rebuilds
+    private static final long AGGREGATES_LOCK_KEY = 0x7265706f727473L;
+
+    private final JdbcClient jdbcClient;
+
+    @Autowired
+    public ReportRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    // Must be the first statement of a rollup batch or a rebuild. Otherwise a rebuild, which deletes
+    // the deltas a batch has locked, and the batch, which upserts the aggregates a rebuild has
+    // written, can wait for each other. Released on commit or rollback
+    public void lockAggregates() {
+        jdbcClient.sql("SELECT pg_advisory_xact_lock(:key)")
+                .param("key", AGGREGATES_LOCK_KEY)
+                .query()
+                .singleRow();
+    }
+
+    // Returns the number of upserted aggregate rows, 0 when there was nothing to fold
+    public int foldOrderStats(int batchSize) {
+        return jdbcClient.sql(FOLD_ORDER_STATS)
+                .param("batchSize", batchSize)
+                .update();
+    }
+
+    public int foldItemSales(int batchSize) {
+        return jdbcClient.sql(FOLD_ITEM_SALES)
+                .param("batchSize", batchSize)
+                .update();
+    }
+
+    // Must run in a repeatable read transaction after lockAggregates, so all statements see the same orders.
+    // Its snapshot is taken by the lock, so a rebuild which waited for a batch fails with a serialization
+    // error instead of dropping what the batch has folded, and can be run again
+    public void rebuild() {
+        REBUILD.forEach(statement -> jdbcClient.sql(statement).update());
+    }
+
+    // Days and statuses without orders left are omitted
+    public List<OrderDailyStatsDto> findOrderStats(LocalDate from, LocalDate to, OrderStatus status) {
+        String filter = status == null ? "" : " AND status = :status";
+        JdbcClient.StatementSpec statement = jdbcClient.sql("""
+                        SELECT day, status, order_count, revenue
+                        FROM order_daily_stats
+                        WHERE day BETWEEN :from AND :to AND order_count <> 0%s
+                        ORDER BY day, status
+                        """.formatted(filter))
+                .param("from", from)
+                .param("to", to);
+        if (status != null) {
+            statement = statement.param("status", status.name());
+        }
+        return statement
+                .query((rs, rowNum) -> new OrderDailyStatsDto(
+                        rs.getObject(1, LocalDate.class),
+                        OrderStatus.valueOf(rs.getString(2)),
+                        rs.getLong(3),
+                        rs.getBigDecimal(4)
+                ))
+                .list();
+    }
+
+    public List<ItemDailySalesDto> findItemSales(LocalDate from, LocalDate to) {
+        return jdbcClient.sql("""
+                        SELECT day, item_id, quantity
+                        FROM item_daily_sales
+                        WHERE day BETWEEN :from AND :to AND quantity <> 0
+                        ORDER BY day, item_id
+                        """)
+                .param("from", from)
+                .param("to", to)
+                .query((rs, rowNum) -> new ItemDailySalesDto(
+                        rs.getObject(1, LocalDate.class),
+                        rs.getLong(2),
+                        rs.getLong(3)
+                ))
+                .list();
+    }
+
+    // Most ordered items of the range, ties are broken by item id
+    public List<ItemSalesDto> findTopItems(LocalDate from, LocalDate to, int limit) {
+        return jdbcClient.sql("""
+                        SELECT item_id, sum(quantity) AS total
+                        FROM item_daily_sales
+                        WHERE day BETWEEN :from AND :to
+                        GROUP BY item_id
+                        HAVING sum(quantity) > 0
+                        ORDER BY total DESC, item_id
+                        LIMIT :limit
+                        """)
+                .param("from", from)
+                .param("to", to)
+                .param("limit", limit)
+                .query((rs, rowNum) -> new ItemSalesDto(rs.getLong(1), rs.getLong(2)))
+                .list();
+    }
+}
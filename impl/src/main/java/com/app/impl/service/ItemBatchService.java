@@ -0,0 +1,256 @@
+package com.app.impl.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.app.impl.dto.item.BulkItemResultDto;
+import com.app.impl.dto.item.BulkItemResultDto.Status;
+import com.app.impl.dto.item.ItemRequestDto;
+import com.app.impl.dto.item.ItemResponseDto;
+import com.app.impl.dto.item.ItemUpdateRequestDto;
+import com.app.impl.entity.Item;
+import com.app.impl.exception.NoSuchItemException;
+import com.app.impl.mapper.ItemMapper;
+import com.app.impl.repository.ItemBatchRepository;
+import com.app.impl.repository.ItemRepository;
+
+// Items of a batch are loaded with one query and written in chunks, each chunk in its own transaction.
+// A chunk that runs into uk_items_name_price is retried item by item, so only conflicting items fail
+@Service
+@Timed("item.batch")
+public class ItemBatchService {
+    // Items written in one transaction, sent as JDBC batches of hibernate.jdbc.batch_size
+    private static final int CHUNK_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final ItemBatchRepository itemBatchRepository;
+    private final ItemMapper itemMapper;
+    private final Cache<Long, ItemResponseDto> itemCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ItemBatchService(
+            ItemRepository itemRepository,
+            ItemBatchRepository itemBatchRepository,
+            ItemMapper itemMapper,
+            Cache<Long, ItemResponseDto> itemCache,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.itemRepository = itemRepository;
+        this.itemBatchRepository = itemBatchRepository;
+        this.itemMapper = itemMapper;
+        this.itemCache = itemCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Upsert by name and price: an item that already exists is reported with its id instead of being created
+    public List<BulkItemResultDto> createAll(List<ItemRequestDto> itemRequestDtos) {
+        Map<ItemKey, Long> existingIds = findIdsByKey(itemRequestDtos.stream()
+                .map(ItemRequestDto::name)
+                .collect(Collectors.toSet()));
+
+        BulkItemResultDto[] results = new BulkItemResultDto[itemRequestDtos.size()];
+        Map<ItemKey, Integer> firstIndexes = new HashMap<>();
+        Map<Integer, Integer> repeatedIndexes = new HashMap<>();
+        List<Integer> newIndexes = new ArrayList<>();
+        for (int index = 0; index < itemRequestDtos.size(); index++) {
+            ItemRequestDto dto = itemRequestDtos.get(index);
+            ItemKey key = ItemKey.of(dto.name(), dto.price());
+            Long existingId = existingIds.get(key);
+            Integer firstIndex = firstIndexes.putIfAbsent(key, index);
+            if (existingId != null) {
+                results[index] = BulkItemResultDto.succeeded(index, existingId, Status.EXISTING);
+            } else if (firstIndex != null) {
+                repeatedIndexes.put(index, firstIndex);
+            } else {
+                newIndexes.add(index);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(newIndexes)) {
+            try {
+                List<Item> saved = transactionTemplate.execute(status -> itemRepository.saveAllAndFlush(
+                        chunk.stream()
+                                .map(index -> itemMapper.toEntity(itemRequestDtos.get(index)))
+                                .toList()
+                ));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = created(chunk.get(i), saved.get(i));
+                }
+            } catch (DataIntegrityViolationException ex) {
+                chunk.forEach(index -> results[index] = createOne(index, itemRequestDtos.get(index)));
+            } catch (DataAccessException ex) {
+                chunk.forEach(index -> results[index] = BulkItemResultDto.failed(
+                        index, null, Status.FAILED, ex.getMostSpecificCause().getMessage()
+                ));
+            }
+        }
+
+        // repeated item gets the outcome of its first occurrence
+        repeatedIndexes.forEach((index, firstIndex) -> {
+            BulkItemResultDto first = results[firstIndex];
+            results[index] = first.error() == null
+                    ? BulkItemResultDto.succeeded(index, first.id(), Status.EXISTING)
+                    : BulkItemResultDto.failed(index, first.id(), first.status(), first.error());
+        });
+        return List.of(results);
+    }
+
+    // Items are loaded with one findAllById, unchanged ones aren't written. Name and price already taken
+    // by another item, as well as a repeated id, are reported as conflicts before anything is written
+    public List<BulkItemResultDto> updateAll(List<ItemUpdateRequestDto> itemUpdateRequestDtos) {
+        Map<Long, Item> items = itemRepository.findAllById(itemUpdateRequestDtos.stream()
+                        .map(ItemUpdateRequestDto::id)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<ItemKey, Long> takenKeys = findIdsByKey(itemUpdateRequestDtos.stream()
+                .map(ItemUpdateRequestDto::name)
+                .collect(Collectors.toSet()));
+
+        BulkItemResultDto[] results = new BulkItemResultDto[itemUpdateRequestDtos.size()];
+        Set<Long> seenIds = new HashSet<>();
+        List<Integer> changedIndexes = new ArrayList<>();
+        for (int index = 0; index < itemUpdateRequestDtos.size(); index++) {
+            ItemUpdateRequestDto dto = itemUpdateRequestDtos.get(index);
+            Item item = items.get(dto.id());
+            ItemKey key = ItemKey.of(dto.name(), dto.price());
+            Long ownerId = takenKeys.get(key);
+            if (!seenIds.add(dto.id())) {
+                results[index] = BulkItemResultDto.failed(index, dto.id(), Status.CONFLICT, "Item id repeats in the batch");
+            } else if (item == null) {
+                results[index] = notFound(index, dto.id());
+            } else if (key.equals(ItemKey.of(item.getName(), item.getPrice()))) {
+                results[index] = BulkItemResultDto.succeeded(index, dto.id(), Status.UNCHANGED);
+            } else if (ownerId != null && !ownerId.equals(dto.id())) {
+                results[index] = conflict(index, dto.id(), key);
+            } else {
+                // the old name and price become free for items later in the batch
+                takenKeys.remove(ItemKey.of(item.getName(), item.getPrice()), item.getId());
+                takenKeys.put(key, dto.id());
+                changedIndexes.add(index);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(changedIndexes)) {
+            List<Item> changed = chunk.stream()
+                    .map(itemUpdateRequestDtos::get)
+                    .map(dto -> new Item(dto.id(), dto.name(), dto.price()))
+                    .toList();
+            try {
+                int[] counts = transactionTemplate.execute(status -> itemBatchRepository.updateAll(changed));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = updated(chunk.get(i), changed.get(i), counts[i]);
+                }
+            } catch (DataIntegrityViolationException ex) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = updateOne(chunk.get(i), changed.get(i));
+                }
+            } catch (DataAccessException ex) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = BulkItemResultDto.failed(
+                            chunk.get(i), changed.get(i).getId(), Status.FAILED, ex.getMostSpecificCause().getMessage()
+                    );
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    // Item created concurrently with the same name and price is reported as existing
+    private BulkItemResultDto createOne(int index, ItemRequestDto dto) {
+        try {
+            return created(index, transactionTemplate.execute(
+                    status -> itemRepository.saveAndFlush(itemMapper.toEntity(dto))
+            ));
+        } catch (DataIntegrityViolationException ex) {
+            Long existingId = findIdsByKey(Set.of(dto.name())).get(ItemKey.of(dto.name(), dto.price()));
+            return existingId != null
+                    ? BulkItemResultDto.succeeded(index, existingId, Status.EXISTING)
+                    : BulkItemResultDto.failed(index, null, Status.CONFLICT, ex.getMostSpecificCause().getMessage());
+        } catch (DataAccessException ex) {
+            return BulkItemResultDto.failed(index, null, Status.FAILED, ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private BulkItemResultDto updateOne(int index, Item item) {
+        try {
+            int[] counts = transactionTemplate.execute(status -> itemBatchRepository.updateAll(List.of(item)));
+            return updated(index, item, counts[0]);
+        } catch (DataIntegrityViolationException ex) {
+            return conflict(index, item.getId(), ItemKey.of(item.getName(), item.getPrice()));
+        } catch (DataAccessException ex) {
+            return BulkItemResultDto.failed(index, item.getId(), Status.FAILED, ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    // Cache is changed after the chunk is committed
+    private BulkItemResultDto created(int index, Item item) {
+        ItemResponseDto response = itemMapper.toResponse(item);
+        itemCache.put(response.id(), response);
+        return BulkItemResultDto.succeeded(index, item.getId(), Status.CREATED);
+    }
+
+    private BulkItemResultDto updated(int index, Item item, int count) {
+        if (count == 0) {
+            itemCache.invalidate(item.getId());
+            return notFound(index, item.getId());
+        }
+        ItemResponseDto response = itemMapper.toResponse(item);
+        itemCache.put(response.id(), response);
+        return BulkItemResultDto.succeeded(index, item.getId(), Status.UPDATED);
+    }
+
+    private static BulkItemResultDto notFound(int index, Long id) {
+        return BulkItemResultDto.failed(
+                index, id, Status.NOT_FOUND, new NoSuchItemException(Collections.singleton(id)).getMessage()
+        );
+    }
+
+    private static BulkItemResultDto conflict(int index, Long id, ItemKey key) {
+        return BulkItemResultDto.failed(
+                index, id, Status.CONFLICT, "Item " + key.name() + " with price " + key.price() + " already exists"
+        );
+    }
+
+    private Map<ItemKey, Long> findIdsByKey(Set<String> names) {
+        return itemRepository.findAllByNameIn(names).stream()
+                .collect(Collectors.toMap(item -> ItemKey.of(item.getName(), item.getPrice()), Item::getId));
+    }
+
+    private static List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += CHUNK_SIZE) {
+            chunks.add(indexes.subList(from, Math.min(from + CHUNK_SIZE, indexes.size())));
+        }
+        return chunks;
+    }
+
+    // Price scale is the one of items.price, so 5.5 and 5.500 are the same item
+    private record ItemKey(
+            String name,
+            BigDecimal price
+    ) {
+        static ItemKey of(String name, BigDecimal price) {
+            return new ItemKey(name, price.setScale(3));
+        }
+    }
+}
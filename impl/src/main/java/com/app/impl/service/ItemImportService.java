@@ -0,0 +1,52 @@
+package com.app.impl.service;
+
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.app.impl.domain.FileFormat;
+import com.app.impl.dto.item.ItemImportResultDto;
+import com.app.impl.repository.ItemImportRepository;
+import com.app.impl.repository.ItemImportRepository.StagingCounts;
+
+// Whole file is imported in one transaction with a fixed number of statements, instead of
+// a transaction and a round trip per item. Invalid rows are reported and don't stop the others
+@Service
+@Timed("item.import")
+public class ItemImportService {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ItemImportRepository itemImportRepository;
+
+    @Autowired
+    public ItemImportService(ItemImportRepository itemImportRepository) {
+        this.itemImportRepository = itemImportRepository;
+    }
+
+    // New items aren't put into the item cache, existing ones are never changed by import
+    @Transactional
+    public ItemImportResultDto importItems(FileFormat format, InputStream inputStream) {
+        itemImportRepository.createStagingTable();
+        switch (format) {
+            case CSV -> itemImportRepository.copyCsv(inputStream);
+            case NDJSON -> itemImportRepository.copyNdjson(inputStream);
+        }
+        itemImportRepository.validate();
+
+        StagingCounts counts = itemImportRepository.count();
+        int imported = counts.rows() > counts.failed()
+                ? itemImportRepository.merge()
+                : 0;
+        return new ItemImportResultDto(
+                counts.rows(),
+                imported,
+                counts.rows() - counts.failed() - imported,
+                counts.failed(),
+                itemImportRepository.findErrors(MAX_REPORTED_ERRORS)
+        );
+    }
+}
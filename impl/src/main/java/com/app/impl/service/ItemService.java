@@ -1,41 +1,64 @@
 package com.app.impl.service;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.annotation.Timed;
 
 import com.app.impl.exception.NoSuchItemException;
 import com.app.impl.dto.item.ItemUpdateRequestDto;
 import com.app.impl.dto.item.ItemRequestDto;
 import com.app.impl.dto.item.ItemResponseDto;
+import com.app.impl.dto.page.CursorPageDto;
 import com.app.impl.entity.Item;
 import com.app.impl.mapper.ItemMapper;
 import com.app.impl.repository.ItemRepository;
 
 @Service
+@Timed("item.service")
 public class ItemService {
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
+    private final EntityManager entityManager;
+    private final Cache<Long, ItemResponseDto> itemCache;
 
     @Autowired
     public ItemService(
             ItemRepository itemRepository,
-            ItemMapper itemMapper
+            ItemMapper itemMapper,
+            EntityManager entityManager,
+            Cache<Long, ItemResponseDto> itemCache
     ) {
         this.itemRepository = itemRepository;
         this.itemMapper = itemMapper;
+        this.entityManager = entityManager;
+        this.itemCache = itemCache;
     }
 
     @Transactional
     public ItemResponseDto create(ItemRequestDto itemRequestDto) {
         Item item = itemMapper.toEntity(itemRequestDto);
         Item savedItem = itemRepository.save(item);
-        return itemMapper.toResponse(savedItem);
+        ItemResponseDto response = itemMapper.toResponse(savedItem);
+        afterCommit(() -> itemCache.put(response.id(), response));
+        return response;
     }
 
     @Transactional
@@ -44,21 +67,27 @@ public class ItemService {
                 .orElseThrow(() -> new NoSuchItemException(Collections.singleton(itemUpdateRequestDto.id())));
 
         Item updatedItem = updateItemFields(itemToUpdate, itemUpdateRequestDto);
-        return itemMapper.toResponse(updatedItem);
+        ItemResponseDto response = itemMapper.toResponse(updatedItem);
+        afterCommit(() -> itemCache.put(response.id(), response));
+        return response;
     }
 
-    @Transactional(readOnly = true)
+    // Cached reads don't open transaction, loaders run in repository's own one
     public ItemResponseDto getById(Long id) {
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new NoSuchItemException(Collections.singleton(id)));
+        ItemResponseDto item = itemCache.get(id, this::loadItem);
+        if (item == null) {
+            throw new NoSuchItemException(Collections.singleton(id));
+        }
 
-        return itemMapper.toResponse(item);
+        return item;
     }
 
-    @Transactional(readOnly = true)
     public List<ItemResponseDto> getAllByIds(List<Long> ids) {
-        List<Item> items = getListOfItemEntitiesById(ids);
-        return itemMapper.toResponseList(items);
+        Map<Long, ItemResponseDto> items = getCachedItems(ids);
+        return ids.stream()
+                .distinct()
+                .map(items::get)
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -67,21 +96,71 @@ public class ItemService {
         return itemMapper.toResponseList(items);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<ItemResponseDto> getPage(Long after, int limit) {
+        List<Item> items = itemRepository.findAllByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+
+        String nextCursor = items.size() < limit
+                ? null
+                : String.valueOf(items.getLast().getId());
+        return new CursorPageDto<>(itemMapper.toResponseList(items), nextCursor);
+    }
+
+    // Hands items over one by one, so memory usage doesn't depend on items count
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ItemResponseDto> consumer) {
+        try (Stream<Item> items = itemRepository.streamAllByOrderByIdAsc()) {
+            items.forEach(item -> {
+                consumer.accept(itemMapper.toResponse(item));
+                entityManager.detach(item);
+            });
+        }
+    }
+
     @Transactional
     public void deleteById(Long id) {
         itemRepository.deleteById(id);
+        afterCommit(() -> itemCache.invalidate(id));
     }
 
+    // Prices of these entities are copied into order lines, so they are read from DB in caller's transaction:
+    // a cached item may be older than a committed price update, e.g. one made on another instance
     public List<Item> getListOfItemEntitiesById(List<Long> ids) {
-        List<Item> items = itemRepository.findAllById(ids);
+        List<Long> distinctIds = ids.stream()
+                .distinct()
+                .toList();
+        Map<Long, Item> items = findItemEntitiesByIds(distinctIds);
+
+        if (items.size() != distinctIds.size()) {
+            List<Long> notFoundIds = distinctIds.stream()
+                    .filter(id -> !items.containsKey(id))
+                    .toList();
 
-        if(ids.size() != items.size()) {
-            Set<Long> foundIds = items.stream()
-                    .map(Item::getId)
-                    .collect(Collectors.toSet());
+            throw new NoSuchItemException(notFoundIds);
+        }
+
+        return distinctIds.stream()
+                .map(items::get)
+                .toList();
+    }
+
+    // Unlike getListOfItemEntitiesById doesn't fail on missing ids, caller decides what to do with them
+    public Map<Long, Item> findItemEntitiesByIds(Collection<Long> ids) {
+        return itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+    }
+
+    // Existence check through cache, good for validation only: prices have to come from the entities above
+    public Set<Long> findExistingItemIds(Collection<Long> ids) {
+        return Set.copyOf(itemCache.getAll(ids, this::loadItems).keySet());
+    }
+
+    private Map<Long, ItemResponseDto> getCachedItems(Collection<Long> ids) {
+        Map<Long, ItemResponseDto> items = itemCache.getAll(ids, this::loadItems);
 
+        if (items.size() != ids.stream().distinct().count()) {
             List<Long> notFoundIds = ids.stream()
-                    .filter(id -> !foundIds.contains(id))
+                    .filter(id -> !items.containsKey(id))
                     .toList();
 
             throw new NoSuchItemException(notFoundIds);
@@ -90,6 +169,34 @@ public class ItemService {
         return items;
     }
 
+    private ItemResponseDto loadItem(Long id) {
+        return itemRepository.findById(id)
+                .map(itemMapper::toResponse)
+                .orElse(null);
+    }
+
+    // Missing ids are left out, so they aren't cached
+    private Map<Long, ItemResponseDto> loadItems(Set<? extends Long> ids) {
+        return itemRepository.findAllById(List.copyOf(ids)).stream()
+                .map(itemMapper::toResponse)
+                .collect(Collectors.toMap(ItemResponseDto::id, item -> item));
+    }
+
+    // Cache is changed only when DB change is visible to others, otherwise it could be rolled back
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private Item updateItemFields(Item itemToUpdate, ItemUpdateRequestDto itemUpdateRequestDto) {
         itemToUpdate.setName(itemUpdateRequestDto.name());
         itemToUpdate.setPrice(itemUpdateRequestDto.price());
@@ -1,73 +1,266 @@
 package com.app.impl.service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.annotation.Timed;
 
+import com.app.impl.domain.OrderEventType;
 import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.BulkOrderResultDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateRequestDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateResultDto;
 import com.app.impl.dto.order.OrderUpdateRequestDto;
 import com.app.impl.entity.Item;
 import com.app.impl.entity.Order;
+import com.app.impl.entity.OrderEvent;
 import com.app.impl.entity.OrderItem;
+import com.app.impl.exception.InvalidStatusTransitionException;
+import com.app.impl.exception.NoSuchItemException;
 import com.app.impl.exception.NoSuchOrderException;
+import com.app.impl.exception.NoSuchUserException;
+import com.app.impl.exception.OrderVersionConflictException;
+import com.app.impl.exception.PreconditionFailedException;
 import com.app.impl.dto.order.OrderRequestDto;
 import com.app.impl.dto.order.OrderResponseDto;
 import com.app.impl.dto.orderItem.OrderItemRequestDto;
+import com.app.impl.dto.page.CreationDateCursor;
+import com.app.impl.dto.page.CursorPageDto;
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.mapper.OrderEventMapper;
 import com.app.impl.mapper.OrderMapper;
+import com.app.impl.repository.OrderEventRepository;
+import com.app.impl.repository.OrderReadRepository;
+import com.app.impl.repository.OrderReadRepository.OrderRow;
 import com.app.impl.repository.OrderRepository;
+import com.app.impl.repository.ReportDeltaRepository;
 
-// FIXME: add endpoint for batch user uploading by emails
-//  and change it in methods in this class
 @Service
+@Timed("order.service")
 public class OrderService {
+    // Orders saved in one transaction of bulk create
+    private static final int BULK_CHUNK_SIZE = 500;
+    // Orders read by one statement of streamAll
+    private static final int STREAM_CHUNK_SIZE = 500;
+    // Attempts of an update without expected version, each one re-reads the order
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final OrderRepository orderRepository;
+    private final OrderReadRepository orderReadRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventMapper orderEventMapper;
+    private final ReportDeltaRepository reportDeltaRepository;
     private final OrderMapper orderMapper;
     private final ItemService itemService;
     private final UserService userService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public OrderService(
             OrderRepository orderRepository,
+            OrderReadRepository orderReadRepository,
+            OrderEventRepository orderEventRepository,
+            OrderEventMapper orderEventMapper,
+            ReportDeltaRepository reportDeltaRepository,
             OrderMapper orderMapper,
             ItemService itemService,
-            UserService userService
+            UserService userService,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate
     ) {
         this.orderRepository = orderRepository;
+        this.orderReadRepository = orderReadRepository;
+        this.orderEventRepository = orderEventRepository;
+        this.orderEventMapper = orderEventMapper;
+        this.reportDeltaRepository = reportDeltaRepository;
         this.orderMapper = orderMapper;
         this.itemService = itemService;
         this.userService = userService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional
+    // User service is called before the transaction, so no connection is held during the remote call
     public OrderResponseDto create(OrderRequestDto orderRequestDto) {
-        validateOrderItems(orderRequestDto.orderItems());
+        UserResponseDto user = userService.getUserByEmail(orderRequestDto.userEmail());
 
-        Order order = orderMapper.toEntity(orderRequestDto);
-        Order orderWithItems = addOrderItemsToOrder(order, orderRequestDto.orderItems());
-        Order savedOrder = orderRepository.save(orderWithItems);
-        OrderResponseDto response = orderMapper.toResponse(savedOrder);
-        response.setUserDto(userService.getUserByEmail(orderRequestDto.userEmail()));
+        OrderResponseDto response = transactionTemplate.execute(status -> {
+            Order order = orderMapper.toEntity(orderRequestDto);
+            Order orderWithItems = addOrderItemsToOrder(order, orderRequestDto.orderItems());
+            Order savedOrder = orderRepository.save(orderWithItems);
+            orderEventRepository.save(orderEventMapper.toEvent(savedOrder, OrderEventType.CREATED));
+            reportDeltaRepository.recordCreated(List.of(savedOrder));
+            return orderMapper.toResponse(savedOrder);
+        });
+        response.setUserDto(user);
         return response;
     }
 
-    @Transactional
+    // Items and users of all orders are checked once, invalid orders are reported without failing the rest.
+    // Valid ones are saved in chunks, each chunk in its own transaction with prices read in it
+    public List<BulkOrderResultDto> createAll(List<OrderRequestDto> orderRequestDtos) {
+        Set<Long> itemIds = orderRequestDtos.stream()
+                .flatMap(dto -> dto.orderItems().stream())
+                .map(OrderItemRequestDto::itemId)
+                .collect(Collectors.toSet());
+        Set<Long> existingItemIds = itemService.findExistingItemIds(itemIds);
+
+        Set<String> emails = orderRequestDtos.stream()
+                .map(OrderRequestDto::userEmail)
+                .collect(Collectors.toSet());
+        Map<String, UserResponseDto> users = userService.findUsersByEmails(emails);
+
+        BulkOrderResultDto[] results = new BulkOrderResultDto[orderRequestDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int index = 0; index < orderRequestDtos.size(); index++) {
+            OrderRequestDto dto = orderRequestDtos.get(index);
+
+            List<Long> notFoundIds = dto.orderItems().stream()
+                    .map(OrderItemRequestDto::itemId)
+                    .filter(id -> !existingItemIds.contains(id))
+                    .distinct()
+                    .toList();
+
+            if (!notFoundIds.isEmpty()) {
+                results[index] = BulkOrderResultDto.failed(index, new NoSuchItemException(notFoundIds).getMessage());
+            } else if (!users.containsKey(dto.userEmail())) {
+                results[index] = BulkOrderResultDto.failed(index, new NoSuchUserException(dto.userEmail()).getMessage());
+            } else {
+                validIndexes.add(index);
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + BULK_CHUNK_SIZE, validIndexes.size()));
+            try {
+                List<OrderResponseDto> created = transactionTemplate.execute(
+                        status -> saveChunk(chunk, orderRequestDtos)
+                );
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = chunk.get(i);
+                    OrderResponseDto responseDto = created.get(i);
+                    responseDto.setUserDto(users.get(orderRequestDtos.get(index).userEmail()));
+                    results[index] = BulkOrderResultDto.created(index, responseDto);
+                }
+            } catch (DataAccessException ex) {
+                chunk.forEach(index -> results[index] =
+                        BulkOrderResultDto.failed(index, ex.getMostSpecificCause().getMessage()));
+            } catch (NoSuchItemException ex) {
+                // item was deleted after the check
+                chunk.forEach(index -> results[index] = BulkOrderResultDto.failed(index, ex.getMessage()));
+            }
+        }
+
+        return List.of(results);
+    }
+
     public OrderResponseDto update(OrderUpdateRequestDto orderUpdateRequestDto) {
-        Order orderToUpdate = orderRepository.findById(orderUpdateRequestDto.id())
-                .orElseThrow(() -> new NoSuchOrderException(Collections.singleton(orderUpdateRequestDto.id())));
+        return update(orderUpdateRequestDto, null);
+    }
 
-        Order updatedOrder = updateOrderFields(orderToUpdate, orderUpdateRequestDto);
-        OrderResponseDto response = orderMapper.toResponse(orderRepository.save(updatedOrder));
+    // User is resolved after commit, the order's email isn't changed by update.
+    // Update with expected version fails on any concurrent change, without it a concurrent change
+    // makes the update start over on the current state of the order.
+    // Version of If-Match takes precedence over the version of the body, its mismatch is a failed precondition
+    public OrderResponseDto update(OrderUpdateRequestDto orderUpdateRequestDto, Long ifMatchVersion) {
+        Long id = orderUpdateRequestDto.id();
+        boolean precondition = ifMatchVersion != null;
+        Long expectedVersion = precondition ? ifMatchVersion : orderUpdateRequestDto.version();
+        Order updatedOrder = null;
+        for (int attempt = 1; updatedOrder == null; attempt++) {
+            try {
+                updatedOrder = transactionTemplate.execute(status -> {
+                    Order orderToUpdate = orderRepository.findById(id)
+                            .orElseThrow(() -> new NoSuchOrderException(Collections.singleton(id)));
+                    checkVersion(orderToUpdate, expectedVersion, precondition);
+                    OrderStatus previousStatus = orderToUpdate.getStatus();
+                    // flushed here, so a lost version check surfaces before the event is written
+                    Order savedOrder = orderRepository.saveAndFlush(updateOrderFields(orderToUpdate, orderUpdateRequestDto));
+                    orderEventRepository.save(orderEventMapper.toEvent(savedOrder, OrderEventType.UPDATED));
+                    if (savedOrder.getStatus() != previousStatus) {
+                        reportDeltaRepository.recordStatusChanged(savedOrder, previousStatus);
+                    }
+                    // lines are mapped after the session is closed
+                    Hibernate.initialize(savedOrder.getOrderItems());
+                    return savedOrder;
+                });
+            } catch (OptimisticLockingFailureException ex) {
+                if (expectedVersion != null) {
+                    throw versionMismatch(id, precondition);
+                }
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new OrderVersionConflictException(id);
+                }
+            }
+        }
+
+        OrderResponseDto response = orderMapper.toResponse(updatedOrder);
         response.setUserDto(userService.getUserByEmail(updatedOrder.getUserEmail()));
         return response;
     }
 
+    // Single statement for all selected orders, with their events and report deltas.
+    // No entities are loaded and no users are resolved.
+    // Orders whose current status doesn't allow the transition are left as they are
+    @Transactional
+    public OrderStatusBulkUpdateResultDto updateStatuses(OrderStatusBulkUpdateRequestDto request) {
+        OrderStatus status = request.status();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (request.ids() != null) {
+            Set<String> fromStatuses = OrderStatus.sourcesOf(status).stream()
+                    .map(OrderStatus::name)
+                    .collect(Collectors.toSet());
+            if (fromStatuses.isEmpty()) {
+                throw new InvalidStatusTransitionException(status);
+            }
+
+            Set<Long> updatedIds = new HashSet<>(orderRepository.updateStatusByIds(
+                    request.ids(),
+                    fromStatuses,
+                    status.name(),
+                    OrderEventType.UPDATED.name(),
+                    now
+            ));
+            List<Long> skippedIds = request.ids().stream()
+                    .distinct()
+                    .filter(id -> !updatedIds.contains(id))
+                    .toList();
+            return new OrderStatusBulkUpdateResultDto(updatedIds.size(), skippedIds);
+        }
+
+        if (!request.fromStatus().canTransitionTo(status)) {
+            throw new InvalidStatusTransitionException(request.fromStatus(), status);
+        }
+        long updated = orderRepository.updateStatusByStatus(
+                request.fromStatus().name(),
+                request.createdBefore(),
+                status.name(),
+                OrderEventType.UPDATED.name(),
+                now
+        );
+        return new OrderStatusBulkUpdateResultDto(Math.toIntExact(updated), List.of());
+    }
+
     @Transactional(readOnly = true)
     public OrderResponseDto getById(Long id) {
         Order order = orderRepository.findById(id)
@@ -77,13 +270,13 @@ public class OrderService {
         return response;
     }
 
-    @Transactional(readOnly = true)
+    // List reads below go through the read model: a single statement, committed before users are resolved
     public List<OrderResponseDto> getAllByIds(List<Long> ids) {
-        List<Order> orders = orderRepository.findAllById(ids);
+        List<OrderRow> orders = orderReadRepository.findAllByIds(ids);
 
         if(orders.size() != ids.size()){
             Set<Long> foundIds = orders.stream()
-                    .map(Order::getId)
+                    .map(row -> row.order().getId())
                     .collect(Collectors.toSet());
 
             List<Long> notFoundIds = ids.stream()
@@ -96,63 +289,202 @@ public class OrderService {
         return toResponseList(orders);
     }
 
-    @Transactional(readOnly = true)
     public List<OrderResponseDto> getAllByStatus(OrderStatus orderStatus) {
-        List<Order> orders = orderRepository.findAllByStatus(orderStatus);
+        List<OrderRow> orders = orderReadRepository.findAllByStatus(orderStatus);
         return toResponseList(orders);
     }
 
-    @Transactional(readOnly = true)
+    // Newest orders first, after is the id of the last order of the previous page
+    public CursorPageDto<OrderResponseDto> getPageByUser(String userEmail, Long after, int limit) {
+        List<OrderRow> orders = orderReadRepository.findPageByUserEmail(
+                userEmail,
+                after == null ? Long.MAX_VALUE : after,
+                limit
+        );
+        if (orders.isEmpty()) {
+            return new CursorPageDto<>(List.of(), null);
+        }
+
+        // all orders of the page belong to the same user
+        UserResponseDto user = userService.getUserByEmail(userEmail);
+        List<OrderResponseDto> content = orders.stream()
+                .map(row -> {
+                    OrderResponseDto responseDto = row.order();
+                    responseDto.setUserDto(user);
+                    return responseDto;
+                })
+                .toList();
+
+        String nextCursor = orders.size() < limit
+                ? null
+                : String.valueOf(content.getLast().getId());
+        return new CursorPageDto<>(content, nextCursor);
+    }
+
+    // Newest orders first, after is the encoded cursor of the previous page
+    public CursorPageDto<OrderResponseDto> getPageByStatus(OrderStatus orderStatus, String after, int limit) {
+        CreationDateCursor cursor = after == null ? null : CreationDateCursor.decode(after);
+        List<OrderResponseDto> content = toResponseList(orderReadRepository.findPageByStatus(orderStatus, cursor, limit));
+
+        String nextCursor = content.size() < limit
+                ? null
+                : new CreationDateCursor(content.getLast().getCreationDate(), content.getLast().getId()).encode();
+        return new CursorPageDto<>(content, nextCursor);
+    }
+
     public List<OrderResponseDto> getAll() {
-        List<Order> orders = orderRepository.findAll();
+        List<OrderRow> orders = orderReadRepository.findAll();
         return toResponseList(orders);
     }
 
+    public CursorPageDto<OrderResponseDto> getPage(Long after, int limit) {
+        List<OrderResponseDto> content = toResponseList(orderReadRepository.findPageAfterId(after, limit));
+
+        String nextCursor = content.size() < limit
+                ? null
+                : String.valueOf(content.getLast().getId());
+        return new CursorPageDto<>(content, nextCursor);
+    }
+
+    // Orders are read in keyset chunks from the read model, so memory usage doesn't depend on orders count
+    // and no connection is held while users of a chunk are resolved. Orders of unknown users go without
+    // a user instead of failing, the response is already committed when such an order is reached
+    public void streamAll(Consumer<OrderResponseDto> consumer) {
+        long after = 0;
+        List<OrderRow> orders;
+        do {
+            orders = orderReadRepository.findPageAfterId(after, STREAM_CHUNK_SIZE);
+            if (orders.isEmpty()) {
+                return;
+            }
+
+            Set<String> emails = orders.stream()
+                    .map(OrderRow::userEmail)
+                    .collect(Collectors.toSet());
+            Map<String, UserResponseDto> users = userService.findUsersByEmails(emails);
+            for (OrderRow row : orders) {
+                OrderResponseDto responseDto = row.order();
+                responseDto.setUserDto(users.get(row.userEmail()));
+                consumer.accept(responseDto);
+            }
+            after = orders.getLast().order().getId();
+        } while (orders.size() == STREAM_CHUNK_SIZE);
+    }
+
+    // Missing order is ignored, the event is written only for a really deleted one.
+    // Version of If-Match is optional, as in update
     @Transactional
-    public void deleteById(Long id) {
-        orderRepository.deleteById(id);
+    public void deleteById(Long id, Long ifMatchVersion) {
+        orderRepository.findById(id).ifPresent(order -> {
+            checkVersion(order, ifMatchVersion, true);
+            reportDeltaRepository.recordDeleted(order);
+            orderRepository.delete(order);
+            OrderEvent event = orderEventMapper.toEvent(order, OrderEventType.DELETED);
+            // deletion doesn't bump the version, but it's the state after the last one
+            event.setOrderVersion(order.getVersion() + 1);
+            orderEventRepository.save(event);
+        });
     }
 
-    private void validateOrderItems(List<OrderItemRequestDto> orderItems) {
-        List<Long> ids = orderItems.stream()
-                .map(OrderItemRequestDto::itemId)
-                .toList();
-        itemService.getAllByIds(ids);
+    private void checkVersion(Order order, Long expectedVersion, boolean precondition) {
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw versionMismatch(order.getId(), precondition);
+        }
+    }
+
+    private RuntimeException versionMismatch(Long id, boolean precondition) {
+        return precondition ? new PreconditionFailedException(id) : new OrderVersionConflictException(id);
     }
 
     private Order addOrderItemsToOrder(Order order, List<OrderItemRequestDto> orderItems) {
-        // merging duplicates
-        Map<Long, Integer> mergedOrderItems = orderItems.stream()
-                .collect(Collectors.toMap(
-                        OrderItemRequestDto::itemId,
-                        OrderItemRequestDto::quantity,
-                        Integer::sum
-                ));
+        Map<Long, Integer> mergedOrderItems = mergeOrderItems(orderItems);
 
-        // getting correspond items
+        // single query for distinct ids, it also fails on missing items
         List<Long> ids = new ArrayList<>(mergedOrderItems.keySet());
         Map<Long, Item> items = itemService.getListOfItemEntitiesById(ids).stream()
                 .collect(Collectors.toMap(Item::getId, item -> item));
 
-        mergedOrderItems.forEach((key, value) -> {
+        return addOrderItemsToOrder(order, mergedOrderItems, items);
+    }
+
+    // Prices are taken from the loaded items, so the total costs no extra query
+    private Order addOrderItemsToOrder(Order order, Map<Long, Integer> mergedOrderItems, Map<Long, Item> items) {
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : mergedOrderItems.entrySet()) {
+            Item item = items.get(entry.getKey());
             OrderItem orderItem =
-                    new OrderItem(null, order, items.get(key), value);
+                    new OrderItem(null, order, item, entry.getValue(), item.getPrice());
             order.getOrderItems().add(orderItem);
-        });
+            totalPrice = totalPrice.add(item.getPrice().multiply(BigDecimal.valueOf(entry.getValue())));
+        }
+        order.setTotalPrice(totalPrice);
 
         return order;
     }
 
+    // merging duplicates
+    private Map<Long, Integer> mergeOrderItems(List<OrderItemRequestDto> orderItems) {
+        return orderItems.stream()
+                .collect(Collectors.toMap(
+                        OrderItemRequestDto::itemId,
+                        OrderItemRequestDto::quantity,
+                        Integer::sum
+                ));
+    }
+
+    private List<OrderResponseDto> saveChunk(List<Integer> chunk, List<OrderRequestDto> orderRequestDtos) {
+        // single query for items of the whole chunk, it also fails on missing items
+        List<Long> itemIds = chunk.stream()
+                .flatMap(index -> orderRequestDtos.get(index).orderItems().stream())
+                .map(OrderItemRequestDto::itemId)
+                .distinct()
+                .toList();
+        Map<Long, Item> items = itemService.getListOfItemEntitiesById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+
+        List<Order> orders = chunk.stream()
+                .map(index -> {
+                    OrderRequestDto dto = orderRequestDtos.get(index);
+                    Order order = orderMapper.toEntity(dto);
+                    return addOrderItemsToOrder(order, mergeOrderItems(dto.orderItems()), items);
+                })
+                .toList();
+
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        orderEventRepository.saveAll(savedOrders.stream()
+                .map(order -> orderEventMapper.toEvent(order, OrderEventType.CREATED))
+                .toList());
+        reportDeltaRepository.recordCreated(savedOrders);
+        List<OrderResponseDto> responses = savedOrders.stream()
+                .map(orderMapper::toResponse)
+                .toList();
+
+        // chunk is written, there is no need to keep its entities in persistence context
+        entityManager.flush();
+        entityManager.clear();
+        return responses;
+    }
+
     private Order updateOrderFields(Order orderToUpdate, OrderUpdateRequestDto orderUpdateRequestDto) {
         orderToUpdate.setStatus(orderUpdateRequestDto.status());
         return orderToUpdate;
     }
 
-    private List<OrderResponseDto> toResponseList(List<Order> orders) {
+    private List<OrderResponseDto> toResponseList(List<OrderRow> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        // resolving every distinct user once instead of once per order
+        Set<String> emails = orders.stream()
+                .map(OrderRow::userEmail)
+                .collect(Collectors.toSet());
+        Map<String, UserResponseDto> users = userService.getUsersByEmails(emails);
+
         return orders.stream()
-                .map(order -> {
-                    OrderResponseDto responseDto = orderMapper.toResponse(order);
-                    responseDto.setUserDto(userService.getUserByEmail(order.getUserEmail()));
+                .map(row -> {
+                    OrderResponseDto responseDto = row.order();
+                    responseDto.setUserDto(users.get(row.userEmail()));
                     return responseDto;
                 })
                 .toList();
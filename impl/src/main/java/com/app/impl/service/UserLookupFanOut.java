@@ -0,0 +1,90 @@
+package com.app.impl.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import feign.FeignException;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.app.impl.Client.UserClient;
+import com.app.impl.config.UserLookupProperties;
+import com.app.impl.dto.user.UserResponseDto;
+
+// Resolves users with concurrent single lookups, for when the batch endpoint can't be used
+@Slf4j
+@Component
+public class UserLookupFanOut {
+    private final UserClient userClient;
+    private final ExecutorService userLookupExecutor;
+    // shared by all fan-outs, so it caps calls in flight to user service, not per request
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    @Autowired
+    public UserLookupFanOut(
+            UserClient userClient,
+            @Qualifier("userLookupExecutor") ExecutorService userLookupExecutor,
+            UserLookupProperties userLookupProperties
+    ) {
+        this.userClient = userClient;
+        this.userLookupExecutor = userLookupExecutor;
+        this.permits = new Semaphore(userLookupProperties.maxConcurrency());
+        this.timeout = userLookupProperties.timeout();
+    }
+
+    // Result follows order of emails, empty value means unknown email.
+    // Emails whose lookup failed or timed out are absent, so the rest is still returned
+    public Map<String, Optional<UserResponseDto>> getUsersByEmails(Collection<String> emails) {
+        Map<String, Future<Optional<UserResponseDto>>> lookups = new LinkedHashMap<>();
+        emails.stream()
+                .distinct()
+                .forEach(email -> lookups.put(email, userLookupExecutor.submit(() -> lookup(email))));
+
+        Map<String, Optional<UserResponseDto>> users = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Optional<UserResponseDto>>> lookup : lookups.entrySet()) {
+            try {
+                users.put(lookup.getKey(), lookup.getValue().get());
+            } catch (ExecutionException ex) {
+                log.warn("Lookup of user {} failed: {}", lookup.getKey(), ex.getCause().toString());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                lookups.values().forEach(future -> future.cancel(true));
+                break;
+            }
+        }
+        return users;
+    }
+
+    private Optional<UserResponseDto> lookup(String email) throws Exception {
+        permits.acquire();
+        try {
+            // timeout counts from the start of the call, not from the wait for a permit
+            Future<UserResponseDto> call = userLookupExecutor.submit(() -> userClient.getUserByEmail(email));
+            try {
+                return Optional.ofNullable(call.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof FeignException.NotFound) {
+                    return Optional.empty();
+                }
+                throw ex.getCause() instanceof Exception cause ? cause : ex;
+            } finally {
+                call.cancel(true);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+}
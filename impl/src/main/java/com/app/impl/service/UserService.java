@@ -1,26 +1,135 @@
 package com.app.impl.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import feign.FeignException;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.app.impl.config.UserLookupProperties;
 import com.app.impl.exception.NoSuchUserException;
 import com.app.impl.dto.user.UserResponseDto;
 import com.app.impl.Client.UserClient;
 
 @Service
+@Timed("user.service")
 public class UserService {
+    // Upper bound of emails sent to user service in one batch request
+    private static final int USERS_BATCH_SIZE = 100;
+
     private final UserClient userClient;
+    private final AsyncCache<String, Optional<UserResponseDto>> userCache;
+    private final UserLookupFanOut userLookupFanOut;
+    private final boolean batchEnabled;
 
     @Autowired
-    public UserService(UserClient userClient) {
+    public UserService(
+            UserClient userClient,
+            AsyncCache<String, Optional<UserResponseDto>> userCache,
+            UserLookupFanOut userLookupFanOut,
+            UserLookupProperties userLookupProperties
+    ) {
         this.userClient = userClient;
+        this.userCache = userCache;
+        this.userLookupFanOut = userLookupFanOut;
+        this.batchEnabled = userLookupProperties.batchEnabled();
     }
 
     public UserResponseDto getUserByEmail(String email) {
-        UserResponseDto user = userClient.getUserByEmail(email);
-        if (user == null) {
-            throw new NoSuchUserException(email);
+        // concurrent misses for the same email wait for a single in-flight call
+        return join(userCache.get(email, this::loadUser))
+                .orElseThrow(() -> new NoSuchUserException(email));
+    }
+
+    public Map<String, UserResponseDto> getUsersByEmails(Collection<String> emails) {
+        Map<String, Optional<UserResponseDto>> cachedUsers = getCachedUsers(emails);
+
+        List<String> notFoundEmails = cachedUsers.entrySet().stream()
+                .filter(entry -> entry.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!notFoundEmails.isEmpty()) {
+            throw new NoSuchUserException(notFoundEmails);
+        }
+
+        Map<String, UserResponseDto> users = new HashMap<>();
+        cachedUsers.forEach((email, user) -> users.put(email, user.get()));
+        return users;
+    }
+
+    // Same as getUsersByEmails, but unknown emails are just absent from result
+    public Map<String, UserResponseDto> findUsersByEmails(Collection<String> emails) {
+        Map<String, UserResponseDto> users = new HashMap<>();
+        getCachedUsers(emails).forEach((email, user) -> user.ifPresent(found -> users.put(email, found)));
+        return users;
+    }
+
+    // Emails already in flight, by a single or a bulk lookup, aren't loaded again but awaited
+    private Map<String, Optional<UserResponseDto>> getCachedUsers(Collection<String> emails) {
+        return join(userCache.getAll(
+                emails.stream().distinct().toList(),
+                this::loadUsers
+        ));
+    }
+
+    // Failure of the load is rethrown as it is, e.g. to be mapped by the exception handler
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Optional<UserResponseDto> loadUser(String email) {
+        try {
+            return Optional.ofNullable(userClient.getUserByEmail(email));
+        } catch (FeignException.NotFound ex) {
+            return Optional.empty();
+        }
+    }
+
+    // Emails absent from result (failed single lookups) are not cached
+    private Map<String, Optional<UserResponseDto>> loadUsers(Set<? extends String> emails) {
+        List<String> emailsToLoad = List.copyOf(emails);
+        if (!batchEnabled) {
+            return userLookupFanOut.getUsersByEmails(emailsToLoad);
+        }
+
+        Map<String, Optional<UserResponseDto>> users = new HashMap<>();
+        for (int from = 0; from < emailsToLoad.size(); from += USERS_BATCH_SIZE) {
+            List<String> chunk = emailsToLoad.subList(
+                    from,
+                    Math.min(from + USERS_BATCH_SIZE, emailsToLoad.size())
+            );
+            Map<String, UserResponseDto> foundUsers;
+            try {
+                foundUsers = userClient.getUsersByEmails(chunk);
+            } catch (FeignException.NotFound | FeignException.MethodNotAllowed ex) {
+                // user service without batch endpoint
+                users.putAll(userLookupFanOut.getUsersByEmails(emailsToLoad.subList(from, emailsToLoad.size())));
+                break;
+            }
+            chunk.forEach(email -> users.put(
+                    email,
+                    Optional.ofNullable(foundUsers == null ? null : foundUsers.get(email))
+            ));
         }
-        return user;
+        return users;
     }
 }
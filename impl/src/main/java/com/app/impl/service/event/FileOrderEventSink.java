@@ -0,0 +1,50 @@
+package com.app.impl.service.event;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.app.impl.config.OrderEventProperties;
+import com.app.impl.dto.event.OrderEventDto;
+
+// Appends events to a file as json lines, consumers of local runs can tail it
+@Component
+@ConditionalOnProperty(prefix = "order.events.sink", name = "type", havingValue = "file")
+public class FileOrderEventSink implements OrderEventSink {
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public FileOrderEventSink(OrderEventProperties properties, ObjectMapper objectMapper) {
+        this.file = properties.sink().file();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OrderEventDto> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(
+                file,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+        )) {
+            for (OrderEventDto event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.impl.service.event;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.app.impl.config.OrderEventProperties;
+import com.app.impl.dto.event.OrderEventDto;
+
+// Keeps the latest events for local runs and tests, the oldest ones are dropped over capacity
+@Component
+@ConditionalOnProperty(prefix = "order.events.sink", name = "type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOrderEventSink implements OrderEventSink {
+    private final int capacity;
+    private final Deque<OrderEventDto> events = new ArrayDeque<>();
+
+    @Autowired
+    public InMemoryOrderEventSink(OrderEventProperties properties) {
+        this.capacity = properties.sink().memoryCapacity();
+    }
+
+    @Override
+    public synchronized void publish(List<OrderEventDto> batch) {
+        for (OrderEventDto event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<OrderEventDto> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
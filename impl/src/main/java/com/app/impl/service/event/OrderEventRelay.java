@@ -0,0 +1,82 @@
+package com.app.impl.service.event;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.app.impl.config.OrderEventProperties;
+import com.app.impl.entity.OrderEvent;
+import com.app.impl.mapper.OrderEventMapper;
+import com.app.impl.repository.OrderEventRepository;
+
+// Moves events from the outbox table to the sink, at least once: a batch is deleted in the
+// transaction that locked it, only after the sink has accepted it.
+// Id order isn't the order of changes (ids come from per-instance pooled blocks, and relays skip
+// each other's locked batches), so consumers have to restore the order of an order's events by orderVersion
+@Slf4j
+@Component
+public class OrderEventRelay {
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventMapper orderEventMapper;
+    private final OrderEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter published;
+    private final Counter failures;
+
+    @Autowired
+    public OrderEventRelay(
+            OrderEventRepository orderEventRepository,
+            OrderEventMapper orderEventMapper,
+            OrderEventSink sink,
+            TransactionTemplate transactionTemplate,
+            OrderEventProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderEventMapper = orderEventMapper;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = properties.relay().batchSize();
+        this.published = meterRegistry.counter("order.events.published");
+        this.failures = meterRegistry.counter("order.events.publish.failures");
+    }
+
+    // Drains the outbox batch by batch, a failed batch stays in the table until the next run
+    public void relay() {
+        try {
+            int count;
+            do {
+                count = publishBatch();
+            } while (count == batchSize);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Publishing of order events failed, they are retried on the next run", ex);
+        }
+    }
+
+    // Returns the number of published events, 0 when the outbox is empty or locked by other relays
+    public int publishBatch() {
+        return transactionTemplate.execute(status -> {
+            List<OrderEvent> events = orderEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            sink.publish(events.stream()
+                    .map(orderEventMapper::toDto)
+                    .toList());
+            orderEventRepository.deleteAllInBatch(events);
+            published.increment(events.size());
+            return events.size();
+        });
+    }
+}
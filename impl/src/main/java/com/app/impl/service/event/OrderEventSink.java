@@ -0,0 +1,11 @@
+package com.app.impl.service.event;
+
+import java.util.List;
+
+import com.app.impl.dto.event.OrderEventDto;
+
+// Destination of published order events. A batch that throws is published again later,
+// so consumers have to tolerate duplicates
+public interface OrderEventSink {
+    void publish(List<OrderEventDto> events);
+}
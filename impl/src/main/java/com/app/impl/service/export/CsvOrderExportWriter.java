@@ -0,0 +1,86 @@
+package com.app.impl.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+import com.app.impl.repository.OrderExportRepository.ExportRow;
+
+// One line per order line (RFC 4180), order columns are repeated on every line of the order.
+// Order without lines is a single line with empty line columns
+public class CsvOrderExportWriter implements OrderExportWriter {
+    private static final String HEADER =
+            "order_id,user_email,status,creation_date,total_price,version,order_item_id,item_id,quantity,unit_price";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    public CsvOrderExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void start() {
+        try {
+            writer.write(HEADER);
+            writer.write("\r\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void accept(ExportRow row) {
+        try {
+            writer.write(Long.toString(row.orderId()));
+            writer.write(',');
+            writer.write(escape(row.userEmail()));
+            writer.write(',');
+            writer.write(row.status().name());
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.creationDate()));
+            writer.write(',');
+            writer.write(decimal(row.totalPrice()));
+            writer.write(',');
+            writer.write(Long.toString(row.version()));
+            writer.write(',');
+            writer.write(row.orderItemId() == null ? "" : row.orderItemId().toString());
+            writer.write(',');
+            writer.write(row.itemId() == null ? "" : row.itemId().toString());
+            writer.write(',');
+            writer.write(row.quantity() == null ? "" : row.quantity().toString());
+            writer.write(',');
+            writer.write(decimal(row.unitPrice()));
+            writer.write("\r\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+
+    // Quoted only when needed, quotes inside are doubled
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
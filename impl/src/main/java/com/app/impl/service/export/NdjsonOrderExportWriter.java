@@ -0,0 +1,80 @@
+package com.app.impl.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.app.impl.repository.OrderExportRepository.ExportRow;
+
+// One JSON object per order with its lines nested, as in order responses. Only the order being
+// written is open in the generator, lines are written as their rows come
+public class NdjsonOrderExportWriter implements OrderExportWriter {
+    private final JsonGenerator generator;
+    private Long currentOrderId;
+
+    public NdjsonOrderExportWriter(OutputStream outputStream, ObjectMapper objectMapper) {
+        try {
+            this.generator = objectMapper.getFactory()
+                    .createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    // objects are separated by line breaks written after each of them
+                    .setRootValueSeparator(null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void accept(ExportRow row) {
+        try {
+            if (currentOrderId == null || currentOrderId != row.orderId()) {
+                endOrder();
+                startOrder(row);
+            }
+            if (row.orderItemId() != null) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.orderItemId());
+                generator.writeNumberField("itemId", row.itemId());
+                generator.writeNumberField("quantity", row.quantity());
+                generator.writeNumberField("unitPrice", row.unitPrice());
+                generator.writeEndObject();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            endOrder();
+            generator.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void startOrder(ExportRow row) throws IOException {
+        currentOrderId = row.orderId();
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.orderId());
+        generator.writeStringField("userEmail", row.userEmail());
+        generator.writeStringField("status", row.status().name());
+        generator.writeStringField("creationDate", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.creationDate()));
+        generator.writeNumberField("totalPrice", row.totalPrice());
+        generator.writeNumberField("version", row.version());
+        generator.writeArrayFieldStart("orderItems");
+    }
+
+    private void endOrder() throws IOException {
+        if (currentOrderId != null) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.impl.service.export;
+
+import java.io.OutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.app.impl.domain.FileFormat;
+import com.app.impl.dto.order.OrderExportFilter;
+import com.app.impl.repository.OrderExportRepository;
+
+// Rows go from the database cursor straight to the output, neither entities nor dtos are built,
+// so memory usage doesn't depend on the export size
+@Service
+public class OrderExportService {
+    private final OrderExportRepository orderExportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrderExportService(OrderExportRepository orderExportRepository, ObjectMapper objectMapper) {
+        this.orderExportRepository = orderExportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Cursor lives as long as the transaction
+    @Transactional(readOnly = true)
+    public void export(OrderExportFilter filter, FileFormat format, OutputStream outputStream) {
+        OrderExportWriter writer = switch (format) {
+            case CSV -> new CsvOrderExportWriter(outputStream);
+            case NDJSON -> new NdjsonOrderExportWriter(outputStream, objectMapper);
+        };
+        writer.start();
+        orderExportRepository.forEachRow(filter, writer);
+        writer.finish();
+    }
+}
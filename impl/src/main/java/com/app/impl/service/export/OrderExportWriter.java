@@ -0,0 +1,15 @@
+package com.app.impl.service.export;
+
+import java.util.function.Consumer;
+
+import com.app.impl.repository.OrderExportRepository.ExportRow;
+
+// Writes export rows straight to an output stream as they come, rows of an order are next to each other.
+// Output stream is flushed by finish() but stays open
+public interface OrderExportWriter extends Consumer<ExportRow> {
+    // Writes what comes before the first row
+    default void start() {
+    }
+
+    void finish();
+}
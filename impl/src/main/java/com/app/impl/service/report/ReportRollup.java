@@ -0,0 +1,72 @@
+package com.app.impl.service.report;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.app.impl.config.ReportProperties;
+import com.app.impl.repository.ReportRepository;
+
+// Keeps report aggregates up to date: folds deltas written by order changes into them,
+// or recomputes them from orders when they can't be trusted anymore
+@Slf4j
+@Component
+public class ReportRollup {
+    private final ReportRepository reportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate rebuildTransactionTemplate;
+    private final int batchSize;
+    private final Counter failures;
+
+    @Autowired
+    public ReportRollup(
+            ReportRepository reportRepository,
+            PlatformTransactionManager transactionManager,
+            ReportProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.reportRepository = reportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.batchSize = properties.rollup().batchSize();
+        this.failures = meterRegistry.counter("report.rollup.failures");
+    }
+
+    // Folds batch by batch until no deltas are left, a failed batch stays in place until the next run
+    public void rollup() {
+        try {
+            int folded;
+            do {
+                folded = foldBatch();
+            } while (folded > 0);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Rollup of report deltas failed, it's retried on the next run", ex);
+        }
+    }
+
+    // Returns the number of upserted aggregate rows, 0 when there were no deltas
+    public int foldBatch() {
+        return transactionTemplate.execute(status -> {
+            reportRepository.lockAggregates();
+            return reportRepository.foldOrderStats(batchSize) + reportRepository.foldItemSales(batchSize);
+        });
+    }
+
+    // Recovery from lost or corrupted aggregates, drops pending deltas and recomputes everything from orders
+    public void rebuild() {
+        rebuildTransactionTemplate.executeWithoutResult(status -> {
+            reportRepository.lockAggregates();
+            reportRepository.rebuild();
+        });
+        log.info("Report aggregates were rebuilt from orders");
+    }
+}
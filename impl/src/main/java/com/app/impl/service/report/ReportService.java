@@ -0,0 +1,50 @@
+package com.app.impl.service.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.annotation.Timed;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.report.ItemDailySalesDto;
+import com.app.impl.dto.report.ItemSalesDto;
+import com.app.impl.dto.report.OrderDailyStatsDto;
+import com.app.impl.exception.InvalidDateRangeException;
+import com.app.impl.repository.ReportRepository;
+
+// Reports are served from the aggregates only, changes of the last rollup interval may be missing
+@Service
+@Timed("report.service")
+public class ReportService {
+    private final ReportRepository reportRepository;
+
+    @Autowired
+    public ReportService(ReportRepository reportRepository) {
+        this.reportRepository = reportRepository;
+    }
+
+    // Status is optional, all statuses are reported without it
+    public List<OrderDailyStatsDto> getOrderStats(LocalDate from, LocalDate to, OrderStatus status) {
+        checkRange(from, to);
+        return reportRepository.findOrderStats(from, to, status);
+    }
+
+    public List<ItemDailySalesDto> getItemSales(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return reportRepository.findItemSales(from, to);
+    }
+
+    public List<ItemSalesDto> getTopItems(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        return reportRepository.findTopItems(from, to, limit);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.app.impl.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.app.impl.ImplApplication;
+import com.app.impl.domain.FileFormat;
+import com.app.impl.dto.item.ItemImportResultDto;
+import com.app.impl.dto.item.ItemRequestDto;
+import com.app.impl.service.ItemImportService;
+import com.app.impl.service.ItemService;
+
+/*
+ * Catalog load through the per-item create loop against COPY based import, with real Postgres.
+ * Postgres is started with Testcontainers, unless -Dbenchmark.db.url (with .username and .password)
+ * points to a disposable local database. Every invocation loads items that don't exist yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ItemImportBenchmark {
+    @Param({"1000", "10000"})
+    private int items;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private ItemImportService itemImportService;
+    private List<ItemRequestDto> requests;
+    private byte[] csv;
+
+    @Setup
+    public void setup() {
+        String url = System.getProperty("benchmark.db.url");
+        String username = System.getProperty("benchmark.db.username", "postgres");
+        String password = System.getProperty("benchmark.db.password", "postgres");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        context = new SpringApplicationBuilder(ImplApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.datasource.url", url,
+                        "spring.datasource.username", username,
+                        "spring.datasource.password", password,
+                        // items don't need users, the client is never called
+                        "user.service.url", "http://localhost:1",
+                        "logging.level.root", "WARN"
+                ))
+                .run();
+        itemService = context.getBean(ItemService.class);
+        itemImportService = context.getBean(ItemImportService.class);
+    }
+
+    // names are unique per invocation, so neither variant runs into existing items
+    @Setup(Level.Invocation)
+    public void prepareItems() {
+        String run = Long.toString(System.nanoTime(), 36);
+        requests = IntStream.range(0, items)
+                .mapToObj(i -> new ItemRequestDto("bench_" + run + "_" + i, BigDecimal.valueOf(i + 1)))
+                .toList();
+
+        StringBuilder file = new StringBuilder("name,price\n");
+        requests.forEach(request -> file.append(request.name()).append(',').append(request.price()).append('\n'));
+        csv = file.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public int createLoop() {
+        requests.forEach(itemService::create);
+        return requests.size();
+    }
+
+    @Benchmark
+    public ItemImportResultDto importCsv() {
+        return itemImportService.importItems(FileFormat.CSV, new ByteArrayInputStream(csv));
+    }
+}
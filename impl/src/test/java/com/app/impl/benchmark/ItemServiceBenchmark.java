@@ -0,0 +1,101 @@
+package com.app.impl.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.app.impl.config.ItemCacheConfig;
+import com.app.impl.config.ItemCacheProperties;
+import com.app.impl.dto.item.ItemResponseDto;
+import com.app.impl.entity.Item;
+import com.app.impl.exception.NoSuchItemException;
+import com.app.impl.mapper.ItemMapperImpl;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.service.ItemService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+    @Param({"10", "100", "1000"})
+    private int ids;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private ItemService itemService;
+    private List<Long> existingIds;
+    private List<Long> idsWithMissing;
+
+    @Setup
+    public void setup() {
+        Map<Long, Item> catalog = new HashMap<>();
+        LongStream.rangeClosed(1, ids)
+                .forEach(id -> catalog.put(id, new Item(id, "item_" + id, BigDecimal.valueOf(id))));
+
+        // in-memory repository, so numbers show service overhead rather than DB round trips
+        ItemRepository itemRepository = Stubs.of(ItemRepository.class, Map.of(
+                "findAllById", (proxy, args) -> StreamSupport.stream(((Iterable<?>) args[0]).spliterator(), false)
+                        .map(catalog::get)
+                        .filter(Objects::nonNull)
+                        .toList(),
+                "findById", (proxy, args) -> Optional.ofNullable(catalog.get((Long) args[0]))
+        ));
+
+        itemService = new ItemService(
+                itemRepository,
+                new ItemMapperImpl(),
+                null,
+                new ItemCacheConfig().itemCache(
+                        new ItemCacheProperties(cacheEnabled, 10_000, Duration.ofMinutes(30)),
+                        new SimpleMeterRegistry()
+                )
+        );
+
+        existingIds = LongStream.rangeClosed(1, ids).boxed().toList();
+        // every tenth id is unknown
+        idsWithMissing = new ArrayList<>(existingIds);
+        for (int i = 0; i < idsWithMissing.size(); i += 10) {
+            idsWithMissing.set(i, idsWithMissing.get(i) + ids);
+        }
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> allFound() {
+        return itemService.getAllByIds(existingIds);
+    }
+
+    @Benchmark
+    public Object someMissing() {
+        try {
+            return itemService.getAllByIds(idsWithMissing);
+        } catch (NoSuchItemException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.impl.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.entity.Item;
+import com.app.impl.entity.Order;
+import com.app.impl.entity.OrderItem;
+import com.app.impl.mapper.OrderItemMapper;
+import com.app.impl.mapper.OrderItemMapperImpl;
+import com.app.impl.mapper.OrderMapper;
+import com.app.impl.mapper.OrderMapperImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "10", "100", "500"})
+    private int lines;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderMapper orderMapper;
+    private OrderItemMapper orderItemMapper;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        // generated mappers are wired by field injection, so a tiny context is the simplest way to build them
+        context = new AnnotationConfigApplicationContext(OrderMapperImpl.class, OrderItemMapperImpl.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        orderItemMapper = context.getBean(OrderItemMapper.class);
+
+        order = new Order(1L, "bench@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>(), 0L, BigDecimal.ZERO);
+        for (long i = 1; i <= lines; i++) {
+            Item item = new Item(i, "item_" + i, BigDecimal.valueOf(i));
+            order.getOrderItems().add(new OrderItem(i, order, item, (int) i, item.getPrice()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDto orderToResponse() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public void orderItemsToDto(Blackhole blackhole) {
+        for (OrderItem orderItem : order.getOrderItems()) {
+            blackhole.consume(orderItemMapper.toDto(orderItem));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.app.impl.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+import com.app.impl.ImplApplication;
+import com.app.impl.dto.order.OrderRequestDto;
+import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.dto.orderItem.OrderItemRequestDto;
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.entity.Item;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.service.OrderService;
+
+/*
+ * Service layer with real transactions and Postgres. User service is stubbed by WireMock.
+ * Postgres is started with Testcontainers, unless -Dbenchmark.db.url (with .username and .password)
+ * points to a disposable local database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderEndToEndBenchmark {
+    private static final String EMAIL = "bench@example.com";
+
+    @Param({"1", "50", "500"})
+    private int lines;
+
+    // orders read by getAll
+    @Param({"100"})
+    private int orders;
+
+    private PostgreSQLContainer<?> postgres;
+    private WireMockServer wireMockServer;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequestDto request;
+
+    @Setup
+    public void setup() throws Exception {
+        String url = System.getProperty("benchmark.db.url");
+        String username = System.getProperty("benchmark.db.username", "postgres");
+        String password = System.getProperty("benchmark.db.password", "postgres");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        stubUser();
+
+        context = new SpringApplicationBuilder(ImplApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.datasource.url", url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                        "spring.datasource.username", username,
+                        "spring.datasource.password", password,
+                        "user.service.url", wireMockServer.baseUrl(),
+                        "logging.level.root", "WARN"
+                ))
+                .run();
+        orderService = context.getBean(OrderService.class);
+
+        // names are unique per run, local database may keep items of previous runs
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Item> items = context.getBean(ItemRepository.class).saveAll(
+                IntStream.range(0, lines)
+                        .mapToObj(i -> new Item(null, "bench_" + run + "_" + i, BigDecimal.valueOf(i + 1)))
+                        .toList()
+        );
+        request = new OrderRequestDto(
+                EMAIL,
+                items.stream()
+                        .map(item -> new OrderItemRequestDto(item.getId(), 1))
+                        .toList()
+        );
+        orderService.createAll(IntStream.range(0, orders)
+                .mapToObj(i -> request)
+                .toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        wireMockServer.stop();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public OrderResponseDto create() {
+        return orderService.create(request);
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> getAll() {
+        return orderService.getAll();
+    }
+
+    private void stubUser() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        UserResponseDto user = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), EMAIL);
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/users/by-email"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(user))));
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/api/users/by-emails"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(Map.of(EMAIL, user)))));
+    }
+}
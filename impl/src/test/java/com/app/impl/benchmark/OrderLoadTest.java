@@ -0,0 +1,184 @@
+package com.app.impl.benchmark;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+import com.app.impl.ImplApplication;
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.entity.Order;
+import com.app.impl.repository.OrderRepository;
+
+/*
+ * Closed-loop load test of GET /api/orders/{id} with platform and then virtual threads.
+ * Every request reads an order and calls user service, which answers after USER_SERVICE_DELAY,
+ * user cache is off, so each request blocks on both JDBC and Feign.
+ *
+ * Args: concurrency levels (comma separated, 1000,5000,10000 by default) and seconds per level (30).
+ * Postgres is started with Testcontainers unless -Dbenchmark.db.url points to a disposable database.
+ * Open files limit (ulimit -n) must be above twice the biggest concurrency level.
+ */
+public final class OrderLoadTest {
+    private static final int USER_SERVICE_DELAY_MILLIS = 50;
+    private static final int ORDERS = 1000;
+
+    private OrderLoadTest() { }
+
+    public static void main(String[] args) throws Exception {
+        int[] levels = Arrays.stream((args.length > 0 ? args[0] : "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+
+        String url = System.getProperty("benchmark.db.url");
+        String username = System.getProperty("benchmark.db.username", "postgres");
+        String password = System.getProperty("benchmark.db.password", "postgres");
+        PostgreSQLContainer<?> postgres = null;
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        WireMockServer userService = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .containerThreads(Math.max(200, Arrays.stream(levels).max().orElse(0) + 50)));
+        userService.start();
+        userService.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/users/by-email"))
+                .willReturn(WireMock.okJson("{\"id\":1,\"name\":\"John\",\"surname\":\"Doe\",\"birthDate\":\"1990-01-01\",\"email\":\"load@example.com\"}")
+                        .withFixedDelay(USER_SERVICE_DELAY_MILLIS)));
+
+        System.out.printf("%-9s %11s %10s %12s %9s %9s %8s%n",
+                "threads", "concurrency", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        try {
+            List<Long> orderIds = null;
+            for (boolean virtual : new boolean[] { false, true }) {
+                // command line arguments, so they win over application.yaml
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(ImplApplication.class)
+                        .run(
+                                "--server.port=0",
+                                "--spring.threads.virtual.enabled=" + virtual,
+                                "--spring.datasource.url=" + url,
+                                "--spring.datasource.username=" + username,
+                                "--spring.datasource.password=" + password,
+                                "--user.service.url=" + userService.baseUrl(),
+                                "--user.cache.max-size=0",
+                                "--logging.level.root=WARN"
+                        );
+                try {
+                    if (orderIds == null) {
+                        orderIds = seedOrders(context.getBean(OrderRepository.class));
+                    }
+                    int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                    for (int concurrency : levels) {
+                        Result result = run("http://localhost:" + port + "/api/orders/", orderIds, concurrency, duration);
+                        System.out.printf("%-9s %11d %10d %12.1f %9.1f %9.1f %8d%n",
+                                virtual ? "virtual" : "platform",
+                                concurrency,
+                                result.latenciesNanos().length,
+                                result.latenciesNanos().length / (double) duration.toSeconds(),
+                                result.percentileMillis(0.50),
+                                result.percentileMillis(0.99),
+                                result.errors());
+                    }
+                } finally {
+                    context.close();
+                }
+            }
+        } finally {
+            userService.stop();
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    // every order has its own email, so user lookups aren't coalesced into one call
+    private static List<Long> seedOrders(OrderRepository orderRepository) {
+        return orderRepository.saveAll(IntStream.range(0, ORDERS)
+                        .mapToObj(i -> new Order(null, "load-" + i + "@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>(), null, BigDecimal.ZERO))
+                        .toList())
+                .stream()
+                .map(Order::getId)
+                .toList();
+    }
+
+    private static Result run(String baseUrl, List<Long> orderIds, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(workers)
+                     .build()) {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                        baseUrl + orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()))))
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                latencies.add(System.nanoTime() - start);
+                            } else {
+                                errors++;
+                            }
+                        } catch (Exception ex) {
+                            errors++;
+                        }
+                    }
+                    return new Result(latencies.stream().mapToLong(Long::longValue).toArray(), errors);
+                }));
+            }
+
+            List<long[]> latencies = new ArrayList<>();
+            long errors = 0;
+            for (Future<Result> future : futures) {
+                Result result = future.get();
+                latencies.add(result.latenciesNanos());
+                errors += result.errors();
+            }
+            long[] merged = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(merged, errors);
+        }
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+        // latencies are sorted once merged
+        double percentileMillis(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(latenciesNanos.length - 1, Math.ceil(percentile * latenciesNanos.length) - 1);
+            return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
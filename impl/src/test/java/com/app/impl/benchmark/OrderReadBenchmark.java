@@ -0,0 +1,154 @@
+package com.app.impl.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import jakarta.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.app.impl.ImplApplication;
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.entity.Item;
+import com.app.impl.entity.Order;
+import com.app.impl.entity.OrderItem;
+import com.app.impl.mapper.OrderMapper;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.repository.OrderReadRepository;
+import com.app.impl.repository.OrderReadRepository.OrderRow;
+import com.app.impl.repository.OrderRepository;
+
+/*
+ * Reading a list of orders with their lines: managed entities mapped by OrderMapper against the read model.
+ * Allocation per read is reported with the gc profiler:
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=OrderReadBenchmark -Djmh.args="-prof gc"
+ * Postgres is started with Testcontainers, unless -Dbenchmark.db.url (with .username and .password)
+ * points to a disposable local database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderReadBenchmark {
+    private static final String EMAIL = "bench@example.com";
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    @Param({"100"})
+    private int orders;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private OrderReadRepository orderReadRepository;
+    private EntityManager entityManager;
+    private OrderMapper orderMapper;
+    private TransactionTemplate readOnlyTransaction;
+    private List<Long> ids;
+
+    @Setup
+    public void setup() {
+        String url = System.getProperty("benchmark.db.url");
+        String username = System.getProperty("benchmark.db.username", "postgres");
+        String password = System.getProperty("benchmark.db.password", "postgres");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        // user service isn't called, reads are measured below the user enrichment
+        context = new SpringApplicationBuilder(ImplApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.datasource.url", url,
+                        "spring.datasource.username", username,
+                        "spring.datasource.password", password,
+                        "user.service.url", "http://localhost:1",
+                        "logging.level.root", "WARN"
+                ))
+                .run();
+        orderRepository = context.getBean(OrderRepository.class);
+        orderReadRepository = context.getBean(OrderReadRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        // names are unique per run, local database may keep items of previous runs
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Item> items = context.getBean(ItemRepository.class).saveAll(
+                IntStream.range(0, lines)
+                        .mapToObj(i -> new Item(null, "bench_" + run + "_" + i, BigDecimal.valueOf(i + 1)))
+                        .toList()
+        );
+        List<Order> saved = orderRepository.saveAll(
+                IntStream.range(0, orders)
+                        .mapToObj(i -> {
+                            Order order = new Order();
+                            order.setUserEmail(EMAIL);
+                            order.setStatus(OrderStatus.IN_PROCESS);
+                            items.forEach(item -> order.getOrderItems().add(new OrderItem(null, order, item, 1, item.getPrice())));
+                            return order;
+                        })
+                        .toList()
+        );
+        ids = saved.stream()
+                .map(Order::getId)
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    // List path before the read model: fetch join query, persistence context, then mapping
+    @Benchmark
+    public List<OrderResponseDto> entities() {
+        return readOnlyTransaction.execute(status -> entityManager.createQuery(
+                        "SELECT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids",
+                        Order.class
+                )
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .map(orderMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<OrderRow> readModel() {
+        return orderReadRepository.findAllByIds(ids);
+    }
+}
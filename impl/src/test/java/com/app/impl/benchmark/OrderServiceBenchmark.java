@@ -0,0 +1,152 @@
+package com.app.impl.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.app.impl.Client.UserClient;
+import com.app.impl.config.ItemCacheConfig;
+import com.app.impl.config.ItemCacheProperties;
+import com.app.impl.config.UserLookupProperties;
+import com.app.impl.dto.order.OrderRequestDto;
+import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.dto.orderItem.OrderItemRequestDto;
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.entity.Item;
+import com.app.impl.entity.Order;
+import com.app.impl.mapper.ItemMapperImpl;
+import com.app.impl.mapper.OrderEventMapperImpl;
+import com.app.impl.mapper.OrderItemMapperImpl;
+import com.app.impl.mapper.OrderMapper;
+import com.app.impl.mapper.OrderMapperImpl;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.repository.OrderEventRepository;
+import com.app.impl.repository.OrderRepository;
+import com.app.impl.repository.ReportDeltaRepository;
+import com.app.impl.service.ItemService;
+import com.app.impl.service.OrderService;
+import com.app.impl.service.UserService;
+
+// In-memory create pipeline: merging duplicated lines, attaching items and mapping the result
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+    private static final String EMAIL = "bench@example.com";
+
+    @Param({"1", "50", "500"})
+    private int lines;
+
+    // with duplicates every item is repeated in four lines
+    @Param({"false", "true"})
+    private boolean duplicates;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderService orderService;
+    private OrderRequestDto request;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext(OrderMapperImpl.class, OrderItemMapperImpl.class);
+
+        ItemRepository itemRepository = Stubs.of(ItemRepository.class, Map.of(
+                "findAllById", (proxy, args) -> StreamSupport.stream(((Iterable<?>) args[0]).spliterator(), false)
+                        .map(id -> new Item((Long) id, "item_" + id, BigDecimal.TEN))
+                        .toList(),
+                "findById", (proxy, args) -> Optional.of(new Item((Long) args[0], "item", BigDecimal.TEN))
+        ));
+        ItemService itemService = new ItemService(
+                itemRepository,
+                new ItemMapperImpl(),
+                null,
+                new ItemCacheConfig().itemCache(
+                        new ItemCacheProperties(true, 10_000, Duration.ofMinutes(30)),
+                        new SimpleMeterRegistry()
+                )
+        );
+
+        UserResponseDto user = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), EMAIL);
+        UserClient userClient = Stubs.of(UserClient.class, Map.of(
+                "getUserByEmail", (proxy, args) -> user,
+                "getUsersByEmails", (proxy, args) -> Map.of(EMAIL, user)
+        ));
+        UserService userService = new UserService(
+                userClient,
+                Caffeine.newBuilder().executor(Runnable::run).buildAsync(),
+                null,
+                new UserLookupProperties(true, 64, Duration.ofSeconds(2))
+        );
+
+        OrderRepository orderRepository = Stubs.of(OrderRepository.class, Map.of(
+                "save", (proxy, args) -> Objects.requireNonNull(args[0])
+        ));
+        OrderEventRepository orderEventRepository = Stubs.of(OrderEventRepository.class, Map.of(
+                "save", (proxy, args) -> Objects.requireNonNull(args[0])
+        ));
+        // report deltas are plain inserts, benchmarked orders aren't persisted and have no creation date
+        ReportDeltaRepository reportDeltaRepository = new ReportDeltaRepository(null) {
+            @Override
+            public void recordCreated(Collection<Order> orders) {
+            }
+        };
+
+        orderService = new OrderService(
+                orderRepository,
+                null,
+                orderEventRepository,
+                new OrderEventMapperImpl(),
+                reportDeltaRepository,
+                context.getBean(OrderMapper.class),
+                itemService,
+                userService,
+                null,
+                Stubs.inPlaceTransactionTemplate()
+        );
+
+        int distinctItems = duplicates ? Math.max(1, lines / 4) : lines;
+        request = new OrderRequestDto(
+                EMAIL,
+                IntStream.range(0, lines)
+                        .mapToObj(i -> new OrderItemRequestDto((long) (i % distinctItems) + 1, 1))
+                        .toList()
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDto create() {
+        return orderService.create(request);
+    }
+}
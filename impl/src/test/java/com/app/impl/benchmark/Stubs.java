@@ -0,0 +1,38 @@
+package com.app.impl.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Builds interface stubs from method name to implementation, so benchmarks measure our code, not mocking library
+final class Stubs {
+    private Stubs() { }
+
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> type, Map<String, BiFunction<Object, Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    BiFunction<Object, Object[], Object> implementation = methods.get(method.getName());
+                    if (implementation == null) {
+                        throw new UnsupportedOperationException(method.getName() + " isn't stubbed");
+                    }
+                    return implementation.apply(proxy, args);
+                }
+        );
+    }
+
+    // Write paths of services run in TransactionTemplate, there is no database here, so the callback runs in place
+    static TransactionTemplate inPlaceTransactionTemplate() {
+        return new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        };
+    }
+}
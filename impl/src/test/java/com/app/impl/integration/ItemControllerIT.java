@@ -1,13 +1,26 @@
 package com.app.impl.integration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,11 +33,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 
 import com.app.impl.dto.item.ItemRequestDto;
 import com.app.impl.dto.item.ItemUpdateRequestDto;
+import com.app.impl.dto.item.ItemResponseDto;
 import com.app.impl.entity.Item;
 import com.app.impl.repository.ItemRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -45,7 +60,10 @@ public class ItemControllerIT {
 
     @Autowired
     private ObjectMapper objectMapper;
-    
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setup() {
         itemRepository.deleteAll();
@@ -83,6 +101,187 @@ public class ItemControllerIT {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for POST and PUT /api/items/batch")
+    class BatchItemsTests {
+        @Test
+        @DisplayName("return 200 status, create new items and report existing ones with their ids")
+        void shouldCreateItemsInBatch() throws Exception {
+            Item existing = itemRepository.save(new Item(null, "item_1", new BigDecimal("10.000")));
+            List<ItemRequestDto> request = List.of(
+                    new ItemRequestDto("item_1", BigDecimal.TEN),
+                    new ItemRequestDto("item_2", new BigDecimal("2.5")),
+                    new ItemRequestDto("item_2", new BigDecimal("2.500"))
+            );
+
+            mockMvc.perform(post("/api/items/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3))
+                    .andExpect(jsonPath("$[0].id").value(existing.getId()))
+                    .andExpect(jsonPath("$[0].status").value("EXISTING"))
+                    .andExpect(jsonPath("$[1].status").value("CREATED"))
+                    .andExpect(jsonPath("$[2].status").value("EXISTING"))
+                    .andExpect(jsonPath("$[2].error").doesNotExist());
+
+            assertThat(itemRepository.findAll()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("return 200 status, update items with one load and report conflicts without failing the rest")
+        void shouldUpdateItemsInBatch() throws Exception {
+            List<Item> items = itemRepository.saveAll(IntStream.range(0, 3)
+                    .mapToObj(i -> new Item(null, "item_" + i, BigDecimal.ONE))
+                    .toList());
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            List<ItemUpdateRequestDto> request = List.of(
+                    new ItemUpdateRequestDto(items.get(0).getId(), "item_0", BigDecimal.TEN),
+                    new ItemUpdateRequestDto(items.get(1).getId(), "item_2", BigDecimal.ONE),
+                    new ItemUpdateRequestDto(items.get(2).getId(), "item_2", BigDecimal.ONE),
+                    new ItemUpdateRequestDto(items.get(2).getId() + 1000, "missing", BigDecimal.ONE)
+            );
+
+            mockMvc.perform(put("/api/items/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value("UPDATED"))
+                    .andExpect(jsonPath("$[1].status").value("CONFLICT"))
+                    .andExpect(jsonPath("$[1].error").exists())
+                    .andExpect(jsonPath("$[2].status").value("UNCHANGED"))
+                    .andExpect(jsonPath("$[3].status").value("NOT_FOUND"));
+
+            // one load of the items and one of the names they take, the update is plain JDBC
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(itemRepository.findById(items.get(0).getId()))
+                    .get()
+                    .extracting(Item::getPrice)
+                    .isEqualTo(new BigDecimal("10.000"));
+            mockMvc.perform(get("/api/items/{id}", items.get(0).getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.price").value(10));
+        }
+
+        @Test
+        @DisplayName("return 400 status on invalid item in batch")
+        void shouldReturnBadRequestOnInvalidItem() throws Exception {
+            mockMvc.perform(post("/api/items/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(new ItemRequestDto("", BigDecimal.ONE)))))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for POST /api/items/import")
+    class ImportItemsTests {
+        @Test
+        @DisplayName("return 200 status, import valid csv rows, skip existing ones and report invalid ones")
+        void shouldImportCsv() throws Exception {
+            itemRepository.save(new Item(null, "item_1", new BigDecimal("10.000")));
+            String csv = """
+                    name,price
+                    item_1,10
+                    item_2,5.5
+                    item_2,5.500
+                    "item, quoted",7
+                    ,3
+                    item_3,-1
+                    item_4,abc
+                    item_5,12345678
+                    """;
+
+            mockMvc.perform(post("/api/items/import")
+                            .queryParam("format", "CSV")
+                            .contentType("text/csv")
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows").value(8))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.skipped").value(2))
+                    .andExpect(jsonPath("$.failed").value(4))
+                    .andExpect(jsonPath("$.errors.length()").value(4))
+                    .andExpect(jsonPath("$.errors[0].row").value(5))
+                    .andExpect(jsonPath("$.errors[0].error").value("name must not be blank"))
+                    .andExpect(jsonPath("$.errors[1].row").value(6))
+                    .andExpect(jsonPath("$.errors[2].row").value(7))
+                    .andExpect(jsonPath("$.errors[3].row").value(8));
+
+            assertThat(itemRepository.findAll())
+                    .extracting(Item::getName)
+                    .containsExactlyInAnyOrder("item_1", "item_2", "item, quoted");
+        }
+
+        @Test
+        @DisplayName("take ids from the sequence in blocks that don't collide with ids of created items")
+        void shouldKeepIdsApartFromCreatedItems() throws Exception {
+            itemRepository.save(new Item(null, "before", BigDecimal.ONE));
+            StringBuilder csv = new StringBuilder("name,price\n");
+            IntStream.range(0, 120).forEach(i -> csv.append("imported_").append(i).append(",1\n"));
+
+            mockMvc.perform(post("/api/items/import")
+                            .contentType("text/csv")
+                            .content(csv.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(120));
+            itemRepository.saveAll(IntStream.range(0, 60)
+                    .mapToObj(i -> new Item(null, "after_" + i, BigDecimal.ONE))
+                    .toList());
+
+            List<Item> items = itemRepository.findAll();
+            assertThat(items).hasSize(181);
+            assertThat(items).extracting(Item::getId).doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("return 200 status, import ndjson lines and report lines that aren't item objects")
+        void shouldImportNdjson() throws Exception {
+            String ndjson = """
+                    {"name":"item_1","price":10.5}
+
+                    {"name":"item_2","price":"3"}
+                    {"name":
+                    [1,2]
+                    {"name":"item_3"}
+                    """;
+
+            mockMvc.perform(post("/api/items/import")
+                            .queryParam("format", "NDJSON")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows").value(5))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.failed").value(3))
+                    .andExpect(jsonPath("$.errors[0].row").value(4))
+                    .andExpect(jsonPath("$.errors[0].error").value("row must be a JSON object"))
+                    .andExpect(jsonPath("$.errors[1].row").value(5))
+                    .andExpect(jsonPath("$.errors[2].row").value(6))
+                    .andExpect(jsonPath("$.errors[2].error").value("price must not be blank"));
+
+            assertThat(itemRepository.findAll())
+                    .extracting(Item::getName, Item::getPrice)
+                    .containsExactlyInAnyOrder(
+                            tuple("item_1", new BigDecimal("10.500")),
+                            tuple("item_2", new BigDecimal("3.000"))
+                    );
+        }
+
+        @Test
+        @DisplayName("return 400 status and import nothing when csv header doesn't match")
+        void shouldReturnBadRequestOnWrongHeader() throws Exception {
+            mockMvc.perform(post("/api/items/import")
+                            .contentType("text/csv")
+                            .content("title,cost\nitem_1,10\n"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(containsString("header")));
+
+            assertThat(itemRepository.findAll()).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("Tests for PUT /api/items")
     class UpdateItemTests {
@@ -200,6 +399,110 @@ public class ItemControllerIT {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for GET /api/items?limit=&after=")
+    class GetItemsPageTests {
+        @Test
+        @DisplayName("return 200 status and pages linked by cursor")
+        void shouldReturnPagesLinkedByCursor() throws Exception {
+            Item item1 = itemRepository.save(new Item(null, "item_1", BigDecimal.valueOf(10.00)));
+            Item item2 = itemRepository.save(new Item(null, "item_2", BigDecimal.valueOf(20.00)));
+            Item item3 = itemRepository.save(new Item(null, "item_3", BigDecimal.valueOf(30.00)));
+
+            mockMvc.perform(get("/api/items").queryParam("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(item1.getId()))
+                    .andExpect(jsonPath("$.nextCursor").value(item2.getId().toString()));
+
+            mockMvc.perform(get("/api/items")
+                            .queryParam("limit", "2")
+                            .queryParam("after", item2.getId().toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.content[0].id").value(item3.getId()))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("return 400 status when limit is invalid")
+        void shouldReturnBadRequestWhenLimitInvalid() throws Exception {
+            mockMvc.perform(get("/api/items").queryParam("limit", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for GET /api/items/stream")
+    class StreamItemsTests {
+        @Test
+        @DisplayName("return 200 status and one json line per item")
+        void shouldStreamItemsAsNdjson() throws Exception {
+            itemRepository.save(new Item(null, "item_1", BigDecimal.valueOf(10.00)));
+            itemRepository.save(new Item(null, "item_2", BigDecimal.valueOf(20.00)));
+
+            MvcResult result = mockMvc.perform(get("/api/items/stream").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+
+            String[] lines = result.getResponse()
+                    .getContentAsString(StandardCharsets.UTF_8)
+                    .split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readValue(lines[0], ItemResponseDto.class).name())
+                    .isEqualTo("item_1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for item cache")
+    class ItemCacheTests {
+        @Test
+        @DisplayName("serve repeated reads without DB queries")
+        void shouldServeRepeatedReadsFromCache() throws Exception {
+            Item saved = itemRepository.save(new Item(null, "item_1", BigDecimal.valueOf(10.00)));
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(get("/api/items/{id}", saved.getId()))
+                        .andExpect(status().isOk());
+            }
+            mockMvc.perform(get("/api/items").param("ids", String.valueOf(saved.getId())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("item_1"));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("return updated item after update and 400 after delete")
+        void shouldRefreshCacheOnWrites() throws Exception {
+            Item saved = itemRepository.save(new Item(null, "item_1", BigDecimal.valueOf(10.00)));
+            mockMvc.perform(get("/api/items/{id}", saved.getId()))
+                    .andExpect(status().isOk());
+
+            ItemUpdateRequestDto request = new ItemUpdateRequestDto(saved.getId(), "item_1_updated", BigDecimal.valueOf(20.50));
+            mockMvc.perform(put("/api/items")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/items/{id}", saved.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("item_1_updated"));
+
+            mockMvc.perform(delete("/api/items/{id}", saved.getId()))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/items/{id}", saved.getId()))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("Tests for DELETE /api/items/{id}")
     class DeleteItemTests {
@@ -0,0 +1,111 @@
+package com.app.impl.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.entity.Item;
+import com.app.impl.entity.Order;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.repository.OrderRepository;
+import com.app.impl.integration.config.TestcontainersConfig;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import({ TestcontainersConfig.class })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MetricsIT {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private static WireMockServer wireMockServer;
+
+    @AfterAll
+    void stopWireMock() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        if (wireMockServer == null) {
+            wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+            wireMockServer.start();
+        }
+        registry.add("user.service.url", () -> wireMockServer.baseUrl());
+    }
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        wireMockServer.resetAll();
+    }
+
+    @Test
+    @DisplayName("publish endpoint, service, user client, pool and Hibernate metrics in Prometheus format")
+    void shouldPublishMetrics() throws Exception {
+        Item item = itemRepository.save(new Item(null, "item_1", BigDecimal.valueOf(10.00)));
+        Order order = orderRepository.save(new Order(null, "user@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>(), null, BigDecimal.ZERO));
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/users/by-email"))
+                .willReturn(WireMock.aResponse().withStatus(503)));
+
+        mockMvc.perform(get("/api/items/{id}", item.getId()))
+                .andExpect(status().isOk());
+        // user service is down, so the call fails and is counted
+        mockMvc.perform(get("/api/orders/{id}", order.getId()))
+                .andExpect(status().is5xxServerError());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(metrics)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("uri=\"/api/items/{id}\"")
+                .contains("item_service_seconds_bucket")
+                .contains("method=\"getById\"")
+                .contains("http_client_requests_seconds_bucket")
+                .contains("feign_client_errors_total")
+                .contains("cause=\"503\"")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_sessions_open_total");
+    }
+}
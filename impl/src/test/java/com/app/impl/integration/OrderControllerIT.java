@@ -1,14 +1,39 @@
 package com.app.impl.integration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
@@ -18,34 +43,51 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import com.app.impl.domain.OrderStatus;
 import com.app.impl.dto.order.OrderRequestDto;
+import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateRequestDto;
 import com.app.impl.dto.order.OrderUpdateRequestDto;
 import com.app.impl.dto.orderItem.OrderItemRequestDto;
 import com.app.impl.dto.user.UserResponseDto;
 import com.app.impl.entity.Item;
+import com.app.impl.entity.Order;
 import com.app.impl.repository.ItemRepository;
 import com.app.impl.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.app.impl.integration.config.StatementCountingConfig;
+import com.app.impl.integration.config.StatementCountingConfig.StatementCounter;
 import com.app.impl.integration.config.TestcontainersConfig;
 
 @SpringBootTest
 @ActiveProfiles("test")
 @Testcontainers
 @AutoConfigureMockMvc
-@Import({ TestcontainersConfig.class })
+@Import({ TestcontainersConfig.class, StatementCountingConfig.class })
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class OrderControllerIT {
     @Autowired
@@ -60,6 +102,27 @@ public class OrderControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AsyncCache<String, Optional<UserResponseDto>> userCache;
+
+    @Autowired
+    private Cache<String, UserResponseDto> staleUserCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
     private static WireMockServer wireMockServer;
 
     @AfterAll
@@ -100,6 +163,17 @@ public class OrderControllerIT {
                                         .withBody(body)
                         )
         );
+        wireMockServer.stubFor(
+                WireMock.post(
+                                WireMock.urlPathEqualTo("/api/users/by-emails"))
+                        .withRequestBody(WireMock.equalToJson(objectMapper.writeValueAsString(List.of(email))))
+                        .willReturn(
+                                WireMock.aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withBody(objectMapper.writeValueAsString(Map.of(email, user)))
+                        )
+        );
         return user;
     }
 
@@ -131,6 +205,111 @@ public class OrderControllerIT {
                     .andExpect(status().isCreated());
         }
 
+        @Test
+        @DisplayName("store item prices and the total, which later item price changes don't affect")
+        void shouldStorePrices() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            Item i2 = seedItem(2, "item_2", BigDecimal.valueOf(20.00));
+            stubUser("user@example.com");
+
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    List.of(
+                            new OrderItemRequestDto(i1.getId(), 2),
+                            new OrderItemRequestDto(i2.getId(), 1)
+                    )
+            );
+
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.totalPrice").value(40.0));
+
+            i1.setPrice(BigDecimal.valueOf(99.00));
+            itemRepository.save(i1);
+
+            mockMvc.perform(get("/api/orders"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].totalPrice").value(40.0))
+                    .andExpect(jsonPath("$[0].orderItems[?(@.itemId == %d)].unitPrice", i1.getId()).value(10.0));
+        }
+
+        @Test
+        @DisplayName("store the committed price, not the one of a warmed up item cache")
+        void shouldStorePriceUpdatedAfterCacheWarmUp() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            mockMvc.perform(get("/api/items/{id}", i1.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.price").value(10.0));
+
+            // as another instance would do it, the local cache isn't refreshed
+            jdbcTemplate.update("UPDATE items SET price = ? WHERE id = ?", BigDecimal.valueOf(15.00), i1.getId());
+
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    List.of(new OrderItemRequestDto(i1.getId(), 2))
+            );
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.totalPrice").value(30.0))
+                    .andExpect(jsonPath("$.orderItems[0].unitPrice").value(15.0));
+        }
+
+        @Test
+        @DisplayName("load order items with a single query")
+        void shouldLoadItemsOnce() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            Item i2 = seedItem(2, "item_2", BigDecimal.valueOf(20.00));
+            stubUser("user@example.com");
+
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    List.of(
+                            new OrderItemRequestDto(i1.getId(), 2),
+                            new OrderItemRequestDto(i2.getId(), 1),
+                            new OrderItemRequestDto(i1.getId(), 3)
+                    )
+            );
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.orderItems.length()").value(2));
+
+            assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("return 400 status when some item doesn't exist")
+        void shouldReturnBadRequestOnMissingItem() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    List.of(
+                            new OrderItemRequestDto(i1.getId(), 2),
+                            new OrderItemRequestDto(i1.getId() + 1000, 1)
+                    )
+            );
+
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            assertThat(orderRepository.count()).isZero();
+        }
+
         @Test
         @DisplayName("return 400 status on invalid request body")
         void shouldReturnBadRequestOnInvalidCreate() throws Exception {
@@ -146,6 +325,68 @@ public class OrderControllerIT {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for POST /api/orders/bulk")
+    class BulkCreateOrderTests {
+        @Test
+        @DisplayName("create valid orders and report invalid ones with a single user lookup")
+        void shouldCreateValidOrdersAndReportInvalid() throws Exception {
+            Item item = seedItem(1L, "item", BigDecimal.valueOf(10.00));
+            UserResponseDto user = new UserResponseDto(1L, "John", "Doe", java.time.LocalDate.of(1990, 1, 1), "user@example.com");
+            wireMockServer.stubFor(
+                    WireMock.post(WireMock.urlPathEqualTo("/api/users/by-emails"))
+                            .willReturn(
+                                    WireMock.aResponse()
+                                            .withStatus(200)
+                                            .withHeader("Content-Type", "application/json")
+                                            .withBody(objectMapper.writeValueAsString(Map.of("user@example.com", user)))
+                            )
+            );
+            List<OrderRequestDto> request = List.of(
+                    new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(item.getId(), 2))),
+                    new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(item.getId() + 1000, 1))),
+                    new OrderRequestDto("unknown@example.com", List.of(new OrderItemRequestDto(item.getId(), 1))),
+                    new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(item.getId(), 3)))
+            );
+
+            mockMvc.perform(post("/api/orders/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(4))
+                    .andExpect(jsonPath("$[0].order.id").isNumber())
+                    .andExpect(jsonPath("$[0].order.userDto.email").value("user@example.com"))
+                    .andExpect(jsonPath("$[1].error").value(containsString("No such items")))
+                    .andExpect(jsonPath("$[2].error").value(containsString("No such user")))
+                    .andExpect(jsonPath("$[3].index").value(3))
+                    .andExpect(jsonPath("$[3].order.orderItems[0].quantity").value(3));
+
+            assertThat(orderRepository.count()).isEqualTo(2);
+            wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/api/users/by-emails")));
+            wireMockServer.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/users/by-email")));
+        }
+
+        @Test
+        @DisplayName("return 400 on empty bulk")
+        void shouldReturnBadRequestOnEmptyBulk() throws Exception {
+            mockMvc.perform(post("/api/orders/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("return 400 on invalid order in bulk")
+        void shouldReturnBadRequestOnInvalidOrder() throws Exception {
+            List<OrderRequestDto> request = List.of(new OrderRequestDto("not-an-email", List.of()));
+
+            mockMvc.perform(post("/api/orders/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("Tests for PUT /api/orders")
     class UpdateOrderTests {
@@ -189,6 +430,127 @@ public class OrderControllerIT {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for PUT /api/orders/bulk/status")
+    class BulkUpdateStatusTests {
+        private List<Long> ids;
+
+        @BeforeEach
+        void createOrders() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            OrderRequestDto request = new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(i1.getId(), 1)));
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+            ids = orderRepository.findAll().stream()
+                    .map(Order::getId)
+                    .sorted()
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("return 200 status, update allowed orders by ids in one statement and skip the rest")
+        void shouldUpdateByIdsInOneStatement() throws Exception {
+            mockMvc.perform(put("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(ids.get(1), OrderStatus.CANCELLED))))
+                    .andExpect(status().isOk());
+            Long missingId = ids.get(2) + 1000;
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            wireMockServer.resetRequests();
+
+            OrderStatusBulkUpdateRequestDto request = new OrderStatusBulkUpdateRequestDto(
+                    List.of(ids.get(0), ids.get(1), missingId), null, null, OrderStatus.COMPLETED
+            );
+            mockMvc.perform(put("/api/orders/bulk/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(1))
+                    .andExpect(jsonPath("$.skippedIds.length()").value(2))
+                    .andExpect(jsonPath("$.skippedIds[0]").value(ids.get(1)))
+                    .andExpect(jsonPath("$.skippedIds[1]").value(missingId));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            wireMockServer.verify(0, WireMock.anyRequestedFor(WireMock.anyUrl()));
+            assertThat(orderRepository.findAllById(ids))
+                    .extracting(Order::getId, Order::getStatus)
+                    .containsExactlyInAnyOrder(
+                            tuple(ids.get(0), OrderStatus.COMPLETED),
+                            tuple(ids.get(1), OrderStatus.CANCELLED),
+                            tuple(ids.get(2), OrderStatus.IN_PROCESS)
+                    );
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM order_events WHERE order_id = ? AND type = 'UPDATED' AND status = 'COMPLETED' AND order_version = 1",
+                    Long.class,
+                    ids.get(0)
+            )).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("return 200 status and update orders selected by status and creation date")
+        void shouldUpdateByStatusAndCreationDate() throws Exception {
+            OrderStatusBulkUpdateRequestDto request = new OrderStatusBulkUpdateRequestDto(
+                    null, OrderStatus.IN_PROCESS, LocalDateTime.now().plusMinutes(1), OrderStatus.CANCELLED
+            );
+
+            mockMvc.perform(put("/api/orders/bulk/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(3))
+                    .andExpect(jsonPath("$.skippedIds.length()").value(0));
+
+            assertThat(orderRepository.findAll())
+                    .extracting(Order::getStatus)
+                    .containsOnly(OrderStatus.CANCELLED);
+        }
+
+        @Test
+        @DisplayName("return 409 status on transition that isn't allowed")
+        void shouldReturnConflictOnInvalidTransition() throws Exception {
+            OrderStatusBulkUpdateRequestDto request = new OrderStatusBulkUpdateRequestDto(
+                    null, OrderStatus.COMPLETED, LocalDateTime.now(), OrderStatus.IN_PROCESS
+            );
+
+            mockMvc.perform(put("/api/orders/bulk/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("return 400 status when both ids and filter are set")
+        void shouldReturnBadRequestOnAmbiguousSelection() throws Exception {
+            OrderStatusBulkUpdateRequestDto request = new OrderStatusBulkUpdateRequestDto(
+                    ids, OrderStatus.IN_PROCESS, LocalDateTime.now(), OrderStatus.COMPLETED
+            );
+
+            mockMvc.perform(put("/api/orders/bulk/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("return 200 status on single update of an order in final status")
+        void shouldUpdateFinalStatusBySingleUpdate() throws Exception {
+            mockMvc.perform(put("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(ids.get(0), OrderStatus.CANCELLED))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(put("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(ids.get(0), OrderStatus.IN_PROCESS))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value(OrderStatus.IN_PROCESS.name()));
+        }
+    }
+
     @Nested
     @DisplayName("Tests for GET /api/orders/{id}")
     class GetOrderByIdTests {
@@ -281,6 +643,47 @@ public class OrderControllerIT {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("return 200 status with users resolved by single lookups when batch endpoint is missing")
+        void shouldResolveUsersBySingleLookups() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            UserResponseDto first = stubUser("first@example.com");
+            stubUser("second@example.com");
+
+            List<Long> orderIds = new ArrayList<>();
+            for (String email : List.of("first@example.com", "second@example.com")) {
+                OrderRequestDto request = new OrderRequestDto(email, List.of(new OrderItemRequestDto(i1.getId(), 1)));
+                MvcResult created = mockMvc.perform(post("/api/orders")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated())
+                        .andReturn();
+                orderIds.add(objectMapper.readValue(created.getResponse().getContentAsString(), OrderResponseDto.class).getId());
+            }
+            userCache.synchronous().invalidateAll();
+            staleUserCache.invalidateAll();
+            // batch request of both emails matches no stub (404), lookup of second user fails
+            wireMockServer.stubFor(
+                    WireMock.get(WireMock.urlPathEqualTo("/api/users/by-email"))
+                            .withQueryParam("email", WireMock.equalTo("second@example.com"))
+                            .willReturn(WireMock.aResponse().withStatus(500))
+            );
+
+            MvcResult result = mockMvc.perform(get("/api/orders/by-status").queryParam("status", OrderStatus.IN_PROCESS.name()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andReturn();
+
+            Map<Long, OrderResponseDto> orders = new HashMap<>();
+            for (OrderResponseDto order : objectMapper.readValue(
+                    result.getResponse().getContentAsString(), OrderResponseDto[].class)) {
+                orders.put(order.getId(), order);
+            }
+            assertThat(orders.get(orderIds.get(0)).getUserDto()).isEqualTo(first);
+            assertThat(orders.get(orderIds.get(1)).getUserDto()).isNull();
+            wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/api/users/by-emails")));
+        }
+
         @Test
         @DisplayName("return 200 status and empty list when none matches")
         void shouldReturnEmptyListWhenNoOrdersForStatus() throws Exception {
@@ -308,8 +711,674 @@ public class OrderControllerIT {
             mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(r1)))
                     .andExpect(status().isCreated());
 
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(r1)))
+                    .andExpect(status().isCreated());
+
             mockMvc.perform(get("/api/orders"))
                     .andExpect(status().isOk());
+
+            // user is resolved once and then served from cache
+            wireMockServer.verify(
+                    WireMock.lessThanOrExactly(1),
+                    WireMock.anyRequestedFor(WireMock.urlPathMatching("/api/users/.*"))
+            );
+        }
+
+        @Test
+        @DisplayName("return 200 status, lines of each order and empty lines of order without them")
+        void shouldAssembleOrderLinesFromJoinedRows() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            Item i2 = seedItem(2, "item_2", BigDecimal.valueOf(20.00));
+            stubUser("user@example.com");
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    List.of(new OrderItemRequestDto(i1.getId(), 1), new OrderItemRequestDto(i2.getId(), 3))
+            );
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+            // API doesn't create orders without lines
+            jdbcTemplate.update("""
+                    INSERT INTO orders (id, user_email, status, creation_date, total_price)
+                    VALUES (nextval('orders_seq'), 'user@example.com', 'IN_PROCESS', now(), 0)
+                    """);
+
+            mockMvc.perform(get("/api/orders"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].status").value(OrderStatus.IN_PROCESS.name()))
+                    .andExpect(jsonPath("$[0].creationDate").exists())
+                    .andExpect(jsonPath("$[0].orderItems.length()").value(2))
+                    .andExpect(jsonPath("$[0].orderItems[0].itemId").value(i1.getId()))
+                    .andExpect(jsonPath("$[0].orderItems[1].itemId").value(i2.getId()))
+                    .andExpect(jsonPath("$[0].orderItems[1].quantity").value(3))
+                    .andExpect(jsonPath("$[0].orderItems[1].unitPrice").value(20.0))
+                    .andExpect(jsonPath("$[0].totalPrice").value(70.0))
+                    .andExpect(jsonPath("$[0].userDto.email").value("user@example.com"))
+                    .andExpect(jsonPath("$[1].orderItems.length()").value(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for GET /api/orders?limit=&after=")
+    class GetOrdersPageTests {
+        @Test
+        @DisplayName("return 200 status and pages linked by cursor")
+        void shouldReturnPagesLinkedByCursor() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            OrderRequestDto r1 = new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(i1.getId(), 1)));
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(r1)))
+                        .andExpect(status().isCreated());
+            }
+            List<Long> ids = orderRepository.findAll().stream().map(o -> o.getId()).sorted().toList();
+
+            mockMvc.perform(get("/api/orders").queryParam("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(ids.get(0)))
+                    .andExpect(jsonPath("$.nextCursor").value(ids.get(1).toString()));
+
+            mockMvc.perform(get("/api/orders")
+                            .queryParam("limit", "2")
+                            .queryParam("after", ids.get(1).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.content[0].id").value(ids.get(2)))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("return 400 status when limit is too big")
+        void shouldReturnBadRequestWhenLimitTooBig() throws Exception {
+            mockMvc.perform(get("/api/orders").queryParam("limit", "100000"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for GET /api/orders/by-user?email=&limit=&after=")
+    class GetOrdersByUserTests {
+        @Test
+        @DisplayName("return 200 status and only the user's orders, newest first, in pages")
+        void shouldReturnUserOrdersInPages() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            stubUser("other@example.com");
+            for (String email : List.of("user@example.com", "other@example.com", "user@example.com", "user@example.com")) {
+                OrderRequestDto request = new OrderRequestDto(email, List.of(new OrderItemRequestDto(i1.getId(), 1)));
+                mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+            List<Long> userIds = orderRepository.findAll().stream()
+                    .filter(order -> order.getUserEmail().equals("user@example.com"))
+                    .map(Order::getId)
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+
+            mockMvc.perform(get("/api/orders/by-user")
+                            .queryParam("email", "user@example.com")
+                            .queryParam("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(userIds.get(0)))
+                    .andExpect(jsonPath("$.content[1].id").value(userIds.get(1)))
+                    .andExpect(jsonPath("$.content[0].userDto.email").value("user@example.com"))
+                    .andExpect(jsonPath("$.content[0].orderItems.length()").value(1))
+                    .andExpect(jsonPath("$.nextCursor").value(userIds.get(1).toString()));
+
+            mockMvc.perform(get("/api/orders/by-user")
+                            .queryParam("email", "user@example.com")
+                            .queryParam("limit", "2")
+                            .queryParam("after", userIds.get(1).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.content[0].id").value(userIds.get(2)))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("load a page without entities and resolve the user once")
+        void shouldLoadPageWithoutEntitiesWithSingleUserLookup() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            OrderRequestDto request = new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(i1.getId(), 1)));
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+            userCache.synchronous().invalidateAll();
+            wireMockServer.resetRequests();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statementCounter.clear();
+
+            mockMvc.perform(get("/api/orders/by-user").queryParam("email", "user@example.com"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(3));
+
+            assertThat(statementCounter.count()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/users/by-email")));
+        }
+
+        @Test
+        @DisplayName("return 400 status on invalid email")
+        void shouldReturnBadRequestOnInvalidEmail() throws Exception {
+            mockMvc.perform(get("/api/orders/by-user").queryParam("email", "not-an-email"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for GET /api/orders/by-status?status=&limit=&after=")
+    class GetOrdersByStatusPageTests {
+        @Test
+        @DisplayName("return 200 status and newest orders first in pages linked by cursor")
+        void shouldReturnNewestFirstInPages() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            OrderRequestDto r1 = new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(i1.getId(), 1)));
+            for (int i = 0; i < 5; i++) {
+                mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(r1)))
+                        .andExpect(status().isCreated());
+            }
+            List<Long> newestFirst = orderRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Order::getCreationDate).thenComparing(Order::getId).reversed())
+                    .map(Order::getId)
+                    .toList();
+
+            List<Long> pagedIds = new ArrayList<>();
+            String after = null;
+            int pages = 0;
+            do {
+                MockHttpServletRequestBuilder request = get("/api/orders/by-status")
+                        .queryParam("status", OrderStatus.IN_PROCESS.name())
+                        .queryParam("limit", "2");
+                if (after != null) {
+                    request.queryParam("after", after);
+                }
+                MvcResult result = mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn();
+                JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+                page.get("content").forEach(order -> pagedIds.add(order.get("id").asLong()));
+                after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+                pages++;
+            } while (after != null);
+
+            assertThat(pagedIds).isEqualTo(newestFirst);
+            assertThat(pages).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("return 400 status on malformed cursor")
+        void shouldReturnBadRequestOnMalformedCursor() throws Exception {
+            mockMvc.perform(get("/api/orders/by-status")
+                            .queryParam("status", OrderStatus.IN_PROCESS.name())
+                            .queryParam("limit", "2")
+                            .queryParam("after", "not-a-cursor"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("read a page as a range of the status index without sorting")
+        void shouldReadPageFromIndexRange() {
+            List<String> plan = transactionTemplate.execute(status -> {
+                // tiny test table would be scanned sequentially otherwise
+                jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+                return jdbcTemplate.queryForList("""
+                        EXPLAIN SELECT id FROM orders
+                        WHERE status = 'IN_PROCESS' AND (creation_date, id) < (now(), 1000)
+                        ORDER BY creation_date DESC, id DESC
+                        LIMIT 20
+                        """, String.class);
+            });
+
+            assertThat(String.join("\n", plan))
+                    .contains("idx_orders_status_creation_date_id")
+                    .doesNotContain("Sort");
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for GET /api/orders/stream")
+    class StreamOrdersTests {
+        @Test
+        @DisplayName("return 200 status and one json line per order")
+        void shouldStreamOrdersAsNdjson() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            OrderRequestDto r1 = new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(i1.getId(), 2)));
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(r1)))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(r1)))
+                    .andExpect(status().isCreated());
+
+            MvcResult result = mockMvc.perform(get("/api/orders/stream").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+
+            String[] lines = result.getResponse()
+                    .getContentAsString(StandardCharsets.UTF_8)
+                    .split("\n");
+            assertThat(lines).hasSize(2);
+            OrderResponseDto firstOrder = objectMapper.readValue(lines[0], OrderResponseDto.class);
+            assertThat(firstOrder.getOrderItems()).hasSize(1);
+            assertThat(firstOrder.getUserDto().email()).isEqualTo("user@example.com");
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for GET /api/orders/export")
+    class ExportOrdersTests {
+        private Item i1;
+        private Item i2;
+
+        @BeforeEach
+        void createOrders() throws Exception {
+            i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            i2 = seedItem(2, "item_2", BigDecimal.valueOf(20.00));
+            stubUser("user@example.com");
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    List.of(new OrderItemRequestDto(i1.getId(), 1), new OrderItemRequestDto(i2.getId(), 3))
+            );
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+            // API doesn't create orders without lines
+            jdbcTemplate.update("""
+                    INSERT INTO orders (id, user_email, status, creation_date, total_price)
+                    VALUES (nextval('orders_seq'), 'user,"quoted"@example.com', 'CANCELLED', now(), 0)
+                    """);
+        }
+
+        private MvcResult export(MockHttpServletRequestBuilder request) throws Exception {
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+            return result;
+        }
+
+        @Test
+        @DisplayName("return 200 status and csv line per order line without loading entities or users")
+        void shouldExportCsv() throws Exception {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            wireMockServer.resetRequests();
+
+            MvcResult result = export(get("/api/orders/export").queryParam("format", "CSV"));
+
+            assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+            String[] lines = result.getResponse()
+                    .getContentAsString(StandardCharsets.UTF_8)
+                    .split("\r\n");
+            assertThat(lines).hasSize(4);
+            assertThat(lines[0]).isEqualTo(
+                    "order_id,user_email,status,creation_date,total_price,version,order_item_id,item_id,quantity,unit_price"
+            );
+            assertThat(lines[1]).contains(",user@example.com,IN_PROCESS,", ",70.000,0,", "," + i1.getId() + ",1,10.000");
+            assertThat(lines[2]).contains("," + i2.getId() + ",3,20.000");
+            assertThat(lines[3]).contains(",\"user,\"\"quoted\"\"@example.com\",CANCELLED,").endsWith(",0,,,,");
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(statistics.getCollectionLoadCount()).isZero();
+            wireMockServer.verify(0, WireMock.anyRequestedFor(WireMock.anyUrl()));
+        }
+
+        @Test
+        @DisplayName("return 200 status and gzipped json line per order with nested lines")
+        void shouldExportGzippedNdjson() throws Exception {
+            MvcResult result = export(get("/api/orders/export")
+                    .queryParam("format", "NDJSON")
+                    .queryParam("gzip", "true"));
+
+            assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            byte[] content;
+            try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+                content = input.readAllBytes();
+            }
+            String[] lines = new String(content, StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            JsonNode first = objectMapper.readTree(lines[0]);
+            assertThat(first.get("userEmail").asText()).isEqualTo("user@example.com");
+            assertThat(first.get("totalPrice").decimalValue()).isEqualByComparingTo("70");
+            assertThat(first.get("orderItems")).hasSize(2);
+            assertThat(first.get("orderItems").get(1).get("itemId").asLong()).isEqualTo(i2.getId());
+            assertThat(first.get("orderItems").get(1).get("quantity").asInt()).isEqualTo(3);
+            JsonNode second = objectMapper.readTree(lines[1]);
+            assertThat(second.get("status").asText()).isEqualTo(OrderStatus.CANCELLED.name());
+            assertThat(second.get("orderItems")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("return 200 status and only orders matching status and creation date range")
+        void shouldExportFilteredOrders() throws Exception {
+            String today = LocalDate.now().toString();
+            String tomorrow = LocalDate.now().plusDays(1).toString();
+
+            MvcResult byStatus = export(get("/api/orders/export")
+                    .queryParam("format", "NDJSON")
+                    .queryParam("status", OrderStatus.CANCELLED.name())
+                    .queryParam("from", today)
+                    .queryParam("to", today));
+            MvcResult byRange = export(get("/api/orders/export")
+                    .queryParam("from", tomorrow));
+
+            String[] lines = byStatus.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(1);
+            assertThat(objectMapper.readTree(lines[0]).get("status").asText()).isEqualTo(OrderStatus.CANCELLED.name());
+            assertThat(byRange.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n")).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("return 400 status when range starts after its end")
+        void shouldReturnBadRequestOnInvalidRange() throws Exception {
+            mockMvc.perform(get("/api/orders/export")
+                            .queryParam("from", "2025-02-01")
+                            .queryParam("to", "2025-01-01"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for read model of list reads")
+    class ListReadModelTests {
+        private Statistics statistics;
+
+        @BeforeEach
+        void createOrders() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            Item i2 = seedItem(2, "item_2", BigDecimal.valueOf(20.00));
+            stubUser("user@example.com");
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    List.of(new OrderItemRequestDto(i1.getId(), 1), new OrderItemRequestDto(i2.getId(), 2))
+            );
+            for (int i = 0; i < 5; i++) {
+                mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statementCounter.clear();
+        }
+
+        // list reads run a single JDBC statement of the read model whatever the number of orders,
+        // it's counted at the DataSource, as Hibernate statistics don't see JdbcClient
+        private void assertThatSingleStatementWithoutEntities() {
+            assertThat(statementCounter.count()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(statistics.getCollectionLoadCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("load all orders with their items in a single statement without loading entities")
+        void shouldLoadAllOrdersWithoutEntities() throws Exception {
+            mockMvc.perform(get("/api/orders"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5))
+                    .andExpect(jsonPath("$[0].orderItems.length()").value(2));
+
+            assertThatSingleStatementWithoutEntities();
+        }
+
+        @Test
+        @DisplayName("load orders by status with their items in a single statement without loading entities")
+        void shouldLoadOrdersByStatusWithoutEntities() throws Exception {
+            mockMvc.perform(get("/api/orders/by-status").queryParam("status", OrderStatus.IN_PROCESS.name()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5));
+
+            assertThatSingleStatementWithoutEntities();
+        }
+
+        @Test
+        @DisplayName("load orders by ids with their items in a single statement without loading entities")
+        void shouldLoadOrdersByIdsWithoutEntities() throws Exception {
+            String[] ids = orderRepository.findAll().stream()
+                    .map(order -> String.valueOf(order.getId()))
+                    .toArray(String[]::new);
+            statistics.clear();
+            statementCounter.clear();
+
+            mockMvc.perform(get("/api/orders").queryParam("ids", ids))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5));
+
+            assertThatSingleStatementWithoutEntities();
+        }
+
+        @Test
+        @DisplayName("load page of orders and their items in a single statement without loading entities")
+        void shouldLoadOrdersPageWithoutEntities() throws Exception {
+            mockMvc.perform(get("/api/orders").queryParam("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(5));
+
+            assertThatSingleStatementWithoutEntities();
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for insert batching of POST /api/orders")
+    class CreateOrderBatchingTests {
+        @Test
+        @DisplayName("insert order lines in JDBC batches")
+        void shouldInsertOrderLinesInBatches() throws Exception {
+            List<Item> items = itemRepository.saveAll(
+                    IntStream.range(0, 200)
+                            .mapToObj(i -> new Item(null, "item_" + i, BigDecimal.valueOf(10.00)))
+                            .toList()
+            );
+            stubUser("user@example.com");
+            OrderRequestDto request = new OrderRequestDto(
+                    "user@example.com",
+                    items.stream()
+                            .map(item -> new OrderItemRequestDto(item.getId(), 1))
+                            .toList()
+            );
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            // order, its 200 lines and its outbox event
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(202);
+            // one statement per batch of 50 rows and per block of 50 ids, not per row
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for connection hold time of POST and PUT /api/orders")
+    class ConnectionHoldTests {
+        private static final long USER_SERVICE_DELAY_MS = 500;
+
+        private double connectionUsageMs() {
+            Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+            assertThat(usage).isNotNull();
+            return usage.totalTime(TimeUnit.MILLISECONDS);
+        }
+
+        private void stubSlowUser(String email) throws Exception {
+            UserResponseDto user = new UserResponseDto(1L, "John", "Doe", java.time.LocalDate.of(1990, 1, 1), email);
+            wireMockServer.stubFor(
+                    WireMock.get(WireMock.urlPathEqualTo("/api/users/by-email"))
+                            .withQueryParam("email", WireMock.equalTo(email))
+                            .willReturn(
+                                    WireMock.aResponse()
+                                            .withStatus(200)
+                                            .withFixedDelay((int) USER_SERVICE_DELAY_MS)
+                                            .withHeader("Content-Type", "application/json")
+                                            .withBody(objectMapper.writeValueAsString(user))
+                            )
+            );
+            userCache.synchronous().invalidateAll();
+        }
+
+        @Test
+        @DisplayName("not hold a connection while user service responds to create")
+        void shouldNotHoldConnectionDuringUserCallOnCreate() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubSlowUser("slow@example.com");
+            OrderRequestDto request = new OrderRequestDto("slow@example.com", List.of(new OrderItemRequestDto(i1.getId(), 1)));
+
+            double usageBefore = connectionUsageMs();
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            assertThat(connectionUsageMs() - usageBefore).isLessThan(USER_SERVICE_DELAY_MS);
+        }
+
+        @Test
+        @DisplayName("not hold a connection while user service responds to update")
+        void shouldNotHoldConnectionDuringUserCallOnUpdate() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("slow@example.com");
+            OrderRequestDto create = new OrderRequestDto("slow@example.com", List.of(new OrderItemRequestDto(i1.getId(), 1)));
+            MvcResult created = mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(create)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            Long orderId = objectMapper.readValue(created.getResponse().getContentAsString(), OrderResponseDto.class).getId();
+            stubSlowUser("slow@example.com");
+
+            double usageBefore = connectionUsageMs();
+            mockMvc.perform(put("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(orderId, OrderStatus.COMPLETED))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.userDto.email").value("slow@example.com"));
+
+            assertThat(connectionUsageMs() - usageBefore).isLessThan(USER_SERVICE_DELAY_MS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for optimistic locking of orders")
+    class OptimisticLockingTests {
+        private Long orderId;
+
+        @BeforeEach
+        void createOrder() throws Exception {
+            Item i1 = seedItem(1, "item_1", BigDecimal.valueOf(10.00));
+            stubUser("user@example.com");
+            OrderRequestDto request = new OrderRequestDto("user@example.com", List.of(new OrderItemRequestDto(i1.getId(), 1)));
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                    .andExpect(jsonPath("$.version").value(0));
+            orderId = orderRepository.findAll().getFirst().getId();
+        }
+
+        @Test
+        @DisplayName("return ETag of the version and 304 status for a matching If-None-Match")
+        void shouldReturnETagAndNotModified() throws Exception {
+            mockMvc.perform(get("/api/orders/{id}", orderId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+            mockMvc.perform(get("/api/orders/{id}", orderId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("return 200 status for a matching If-Match and 412 status once it's stale")
+        void shouldUpdateOnlyMatchingVersion() throws Exception {
+            mockMvc.perform(put("/api/orders")
+                            .header(HttpHeaders.IF_MATCH, "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(orderId, OrderStatus.COMPLETED))))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                    .andExpect(jsonPath("$.version").value(1));
+
+            mockMvc.perform(put("/api/orders")
+                            .header(HttpHeaders.IF_MATCH, "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(orderId, OrderStatus.CANCELLED))))
+                    .andExpect(status().isPreconditionFailed());
+
+            assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("return 400 status for a weak or malformed If-Match")
+        void shouldRejectMalformedIfMatch() throws Exception {
+            for (String ifMatch : List.of("W/\"0\"", "0", "\"zero\"")) {
+                mockMvc.perform(put("/api/orders")
+                                .header(HttpHeaders.IF_MATCH, ifMatch)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(orderId, OrderStatus.COMPLETED))))
+                        .andExpect(status().isBadRequest());
+            }
+
+            assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.IN_PROCESS);
+        }
+
+        @Test
+        @DisplayName("return 409 status for a stale version in the body")
+        void shouldRejectStaleBodyVersion() throws Exception {
+            mockMvc.perform(put("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(orderId, OrderStatus.COMPLETED, 5L))))
+                    .andExpect(status().isConflict());
+
+            assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.IN_PROCESS);
+        }
+
+        @Test
+        @DisplayName("bump the version on bulk status update")
+        void shouldBumpVersionOnBulkStatusUpdate() throws Exception {
+            OrderStatusBulkUpdateRequestDto request = new OrderStatusBulkUpdateRequestDto(
+                    List.of(orderId), null, null, OrderStatus.CANCELLED
+            );
+            mockMvc.perform(put("/api/orders/bulk/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/orders/{id}", orderId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        }
+
+        @Test
+        @DisplayName("fail to flush an order changed by a concurrent transaction")
+        void shouldDetectLostUpdate() {
+            assertThatExceptionOfType(ObjectOptimisticLockingFailureException.class)
+                    .isThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+                        Order order = orderRepository.findById(orderId).orElseThrow();
+                        // committed by another transaction after the order was read
+                        CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                                "UPDATE orders SET status = 'CANCELLED', version = version + 1 WHERE id = ?", orderId
+                        )).join();
+                        order.setStatus(OrderStatus.COMPLETED);
+                        orderRepository.saveAndFlush(order);
+                    }));
+
+            assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        }
+
+        @Test
+        @DisplayName("return 412 status on delete with a stale If-Match and keep the order")
+        void shouldRejectDeleteOfStaleVersion() throws Exception {
+            mockMvc.perform(delete("/api/orders/{id}", orderId).header(HttpHeaders.IF_MATCH, "\"3\""))
+                    .andExpect(status().isPreconditionFailed());
+
+            assertThat(orderRepository.existsById(orderId)).isTrue();
         }
     }
 
@@ -0,0 +1,221 @@
+package com.app.impl.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+import com.app.impl.domain.OrderEventType;
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.event.OrderEventDto;
+import com.app.impl.dto.order.OrderRequestDto;
+import com.app.impl.dto.order.OrderUpdateRequestDto;
+import com.app.impl.dto.orderItem.OrderItemRequestDto;
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.entity.Item;
+import com.app.impl.entity.OrderEvent;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.repository.OrderEventRepository;
+import com.app.impl.repository.OrderRepository;
+import com.app.impl.service.event.InMemoryOrderEventSink;
+import com.app.impl.service.event.OrderEventRelay;
+import com.app.impl.integration.config.TestcontainersConfig;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+@Import({ TestcontainersConfig.class })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OrderEventOutboxIT {
+    private static final String EMAIL = "user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private OrderEventRelay relay;
+
+    @Autowired
+    private InMemoryOrderEventSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static WireMockServer wireMockServer;
+
+    private Item item;
+
+    @AfterAll
+    void stopWireMock() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        if (wireMockServer == null) {
+            wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+            wireMockServer.start();
+        }
+        registry.add("user.service.url", () -> wireMockServer.baseUrl());
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        orderEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        sink.clear();
+        wireMockServer.resetAll();
+
+        item = itemRepository.save(new Item(null, "item_1", BigDecimal.valueOf(10.00)));
+        UserResponseDto user = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), EMAIL);
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/users/by-email"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(user))));
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/api/users/by-emails"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(Map.of(EMAIL, user)))));
+    }
+
+    @Nested
+    @DisplayName("Tests for events written by order changes")
+    class WriteEventsTests {
+        @Test
+        @DisplayName("publish created, updated and deleted events of an order in order of changes")
+        void shouldPublishEventsOfOrderLifecycle() throws Exception {
+            createOrder(item.getId());
+            Long orderId = orderRepository.findAll().getFirst().getId();
+            mockMvc.perform(put("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(orderId, OrderStatus.COMPLETED))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/api/orders/{id}", orderId))
+                    .andExpect(status().isOk());
+
+            relay.relay();
+
+            assertThat(sink.getEvents())
+                    .extracting(OrderEventDto::type, OrderEventDto::orderId, OrderEventDto::status, OrderEventDto::userEmail,
+                            OrderEventDto::orderVersion)
+                    .containsExactly(
+                            tuple(OrderEventType.CREATED, orderId, OrderStatus.IN_PROCESS, EMAIL, 0L),
+                            tuple(OrderEventType.UPDATED, orderId, OrderStatus.COMPLETED, EMAIL, 1L),
+                            tuple(OrderEventType.DELETED, orderId, OrderStatus.COMPLETED, EMAIL, 2L)
+                    );
+            assertThat(sink.getEvents())
+                    .allSatisfy(event -> assertThat(event.createdAt()).isNotNull());
+            assertThat(orderEventRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("write no event when the change is rolled back")
+        void shouldWriteNoEventForFailedChange() throws Exception {
+            createOrder(item.getId() + 1000);
+
+            assertThat(orderRepository.count()).isZero();
+            assertThat(orderEventRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("write an event per order created in bulk")
+        void shouldWriteEventPerBulkCreatedOrder() throws Exception {
+            OrderRequestDto request = new OrderRequestDto(EMAIL, List.of(new OrderItemRequestDto(item.getId(), 1)));
+            mockMvc.perform(post("/api/orders/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(request, request, request))))
+                    .andExpect(status().isOk());
+
+            relay.relay();
+
+            assertThat(sink.getEvents())
+                    .hasSize(3)
+                    .extracting(OrderEventDto::type)
+                    .containsOnly(OrderEventType.CREATED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for relay of the outbox")
+    class RelayTests {
+        @Test
+        @DisplayName("skip events locked by another relay instead of waiting for them")
+        void shouldSkipLockedEvents() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                createOrder(item.getId());
+            }
+            Long lockedId = orderEventRepository.findAll().stream()
+                    .map(OrderEvent::getId)
+                    .min(Long::compare)
+                    .orElseThrow();
+
+            // another relay holds the oldest event while this one runs
+            Integer published = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject("SELECT id FROM order_events WHERE id = ? FOR UPDATE", Long.class, lockedId);
+                return CompletableFuture.supplyAsync(relay::publishBatch).join();
+            });
+
+            assertThat(published).isEqualTo(2);
+            assertThat(sink.getEvents())
+                    .extracting(OrderEventDto::id)
+                    .doesNotContain(lockedId);
+            assertThat(orderEventRepository.findAll())
+                    .extracting(OrderEvent::getId)
+                    .containsExactly(lockedId);
+        }
+    }
+
+    private void createOrder(Long itemId) throws Exception {
+        OrderRequestDto request = new OrderRequestDto(EMAIL, List.of(new OrderItemRequestDto(itemId, 1)));
+        mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
@@ -0,0 +1,273 @@
+package com.app.impl.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.OrderRequestDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateRequestDto;
+import com.app.impl.dto.order.OrderUpdateRequestDto;
+import com.app.impl.dto.orderItem.OrderItemRequestDto;
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.entity.Item;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.repository.OrderEventRepository;
+import com.app.impl.repository.OrderRepository;
+import com.app.impl.service.report.ReportRollup;
+import com.app.impl.integration.config.TestcontainersConfig;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+@Import({ TestcontainersConfig.class })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReportIT {
+    private static final String EMAIL = "user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private ReportRollup rollup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static WireMockServer wireMockServer;
+
+    private Item item1;
+    private Item item2;
+
+    // other test classes clean only their own tables, items can't be deleted while orders refer to them
+    @AfterAll
+    void deleteOrders() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @AfterAll
+    void stopWireMock() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        if (wireMockServer == null) {
+            wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+            wireMockServer.start();
+        }
+        registry.add("user.service.url", () -> wireMockServer.baseUrl());
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        orderEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM order_stats_deltas");
+        jdbcTemplate.update("DELETE FROM item_sales_deltas");
+        jdbcTemplate.update("DELETE FROM order_daily_stats");
+        jdbcTemplate.update("DELETE FROM item_daily_sales");
+        wireMockServer.resetAll();
+
+        item1 = itemRepository.save(new Item(null, "item_1", BigDecimal.valueOf(10.00)));
+        item2 = itemRepository.save(new Item(null, "item_2", BigDecimal.valueOf(20.00)));
+        UserResponseDto user = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), EMAIL);
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/users/by-email"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(user))));
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/api/users/by-emails"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(Map.of(EMAIL, user)))));
+    }
+
+    @Nested
+    @DisplayName("Tests for incremental maintenance of aggregates")
+    class RollupTests {
+        @Test
+        @DisplayName("report creates, status changes and deletes once deltas are rolled up")
+        void shouldReportChangesAfterRollup() throws Exception {
+            Long first = createOrder(new OrderItemRequestDto(item1.getId(), 2), new OrderItemRequestDto(item2.getId(), 1));
+            Long second = createOrder(new OrderItemRequestDto(item1.getId(), 1));
+            Long third = createOrder(new OrderItemRequestDto(item2.getId(), 5));
+            mockMvc.perform(put("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderUpdateRequestDto(first, OrderStatus.COMPLETED))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(put("/api/orders/bulk/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new OrderStatusBulkUpdateRequestDto(List.of(second), null, null, OrderStatus.CANCELLED)
+                            )))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/api/orders/{id}", third))
+                    .andExpect(status().isOk());
+
+            // nothing is reported before the rollup, reads don't look at orders
+            mockMvc.perform(report("/api/reports/orders/daily"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+
+            rollup.rollup();
+
+            mockMvc.perform(report("/api/reports/orders/daily"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].status").value(OrderStatus.CANCELLED.name()))
+                    .andExpect(jsonPath("$[0].orderCount").value(1))
+                    .andExpect(jsonPath("$[0].revenue").value(10.0))
+                    .andExpect(jsonPath("$[1].status").value(OrderStatus.COMPLETED.name()))
+                    .andExpect(jsonPath("$[1].orderCount").value(1))
+                    .andExpect(jsonPath("$[1].revenue").value(40.0));
+            mockMvc.perform(report("/api/reports/orders/daily").param("status", OrderStatus.COMPLETED.name()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+            mockMvc.perform(report("/api/reports/items/daily"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].itemId").value(item1.getId()))
+                    .andExpect(jsonPath("$[0].quantity").value(3))
+                    .andExpect(jsonPath("$[1].itemId").value(item2.getId()))
+                    .andExpect(jsonPath("$[1].quantity").value(1));
+            mockMvc.perform(report("/api/reports/items/top").param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].itemId").value(item1.getId()))
+                    .andExpect(jsonPath("$[0].quantity").value(3));
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM order_stats_deltas", Long.class)).isZero();
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM item_sales_deltas", Long.class)).isZero();
+        }
+
+        @Test
+        @DisplayName("move orders between statuses on bulk update by status")
+        void shouldReportBulkUpdateByStatus() throws Exception {
+            createOrder(new OrderItemRequestDto(item1.getId(), 1));
+            createOrder(new OrderItemRequestDto(item2.getId(), 1));
+            rollup.rollup();
+
+            mockMvc.perform(put("/api/orders/bulk/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new OrderStatusBulkUpdateRequestDto(
+                                    null, OrderStatus.IN_PROCESS, LocalDateTime.now().plusMinutes(1), OrderStatus.CANCELLED
+                            ))))
+                    .andExpect(status().isOk());
+            rollup.rollup();
+
+            mockMvc.perform(report("/api/reports/orders/daily"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].status").value(OrderStatus.CANCELLED.name()))
+                    .andExpect(jsonPath("$[0].orderCount").value(2))
+                    .andExpect(jsonPath("$[0].revenue").value(30.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for POST /api/reports/rebuild")
+    class RebuildTests {
+        @Test
+        @DisplayName("recompute lost aggregates from orders and drop pending deltas")
+        void shouldRebuildFromOrders() throws Exception {
+            createOrder(new OrderItemRequestDto(item1.getId(), 2), new OrderItemRequestDto(item2.getId(), 1));
+            rollup.rollup();
+            createOrder(new OrderItemRequestDto(item1.getId(), 1));
+            // aggregates are lost, the second order is still a pending delta
+            jdbcTemplate.update("DELETE FROM order_daily_stats");
+            jdbcTemplate.update("DELETE FROM item_daily_sales");
+
+            mockMvc.perform(post("/api/reports/rebuild"))
+                    .andExpect(status().isOk());
+            rollup.rollup();
+
+            mockMvc.perform(report("/api/reports/orders/daily"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].orderCount").value(2))
+                    .andExpect(jsonPath("$[0].revenue").value(50.0));
+            mockMvc.perform(report("/api/reports/items/top"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].itemId").value(item1.getId()))
+                    .andExpect(jsonPath("$[0].quantity").value(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for validation of report requests")
+    class ValidationTests {
+        @Test
+        @DisplayName("return 400 status when range starts after it ends")
+        void shouldRejectReversedRange() throws Exception {
+            mockMvc.perform(get("/api/reports/orders/daily")
+                            .param("from", LocalDate.now().toString())
+                            .param("to", LocalDate.now().minusDays(1).toString()))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    // Range around today, so an order created right at midnight is still reported
+    private MockHttpServletRequestBuilder report(String path) {
+        return get(path)
+                .param("from", LocalDate.now().minusDays(1).toString())
+                .param("to", LocalDate.now().plusDays(1).toString());
+    }
+
+    private Long createOrder(OrderItemRequestDto... orderItems) throws Exception {
+        OrderRequestDto request = new OrderRequestDto(EMAIL, List.of(orderItems));
+        String body = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,309 @@
+package com.app.impl.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import feign.FeignException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.app.impl.Client.UserClient;
+import com.app.impl.dto.order.OrderRequestDto;
+import com.app.impl.dto.orderItem.OrderItemRequestDto;
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.exception.UserServiceUnavailableException;
+import com.app.impl.integration.config.TestcontainersConfig;
+
+@SpringBootTest(properties = {
+        "spring.cloud.openfeign.client.config.userService.read-timeout=300",
+        "user.client.retry.initial-interval=10ms",
+        "user.client.circuit-breaker.sliding-window-size=4",
+        "user.client.circuit-breaker.minimum-calls=4",
+        "user.client.circuit-breaker.open-state-wait=1m",
+        "user.client.bulkhead.max-concurrent-calls=2",
+        "user.client.bulkhead.max-wait=0ms"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc
+@Import({ TestcontainersConfig.class })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserClientResilienceIT {
+    private static final String BY_EMAIL = "/api/users/by-email";
+    private static final String BY_EMAILS = "/api/users/by-emails";
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private CircuitBreaker userClientCircuitBreaker;
+
+    @Autowired
+    private Bulkhead userClientBulkhead;
+
+    @Autowired
+    private Cache<String, UserResponseDto> staleUserCache;
+
+    @Autowired
+    private AsyncCache<String, Optional<UserResponseDto>> userCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static WireMockServer wireMockServer;
+
+    @AfterAll
+    void stopWireMock() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        if (wireMockServer == null) {
+            wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+            wireMockServer.start();
+        }
+        registry.add("user.service.url", () -> wireMockServer.baseUrl());
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        userClientCircuitBreaker.reset();
+        staleUserCache.invalidateAll();
+        userCache.synchronous().invalidateAll();
+    }
+
+    private UserResponseDto user(String email) {
+        return new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), email);
+    }
+
+    private void stubUser(String email, int delayMs) throws Exception {
+        wireMockServer.stubFor(
+                WireMock.get(WireMock.urlPathEqualTo(BY_EMAIL))
+                        .withQueryParam("email", WireMock.equalTo(email))
+                        .willReturn(
+                                WireMock.aResponse()
+                                        .withStatus(200)
+                                        .withFixedDelay(delayMs)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withBody(objectMapper.writeValueAsString(user(email)))
+                        )
+        );
+    }
+
+    private void stubFault(String path, Fault fault) {
+        wireMockServer.stubFor(WireMock.any(WireMock.urlPathEqualTo(path))
+                .willReturn(WireMock.aResponse().withFault(fault)));
+    }
+
+    private int requestsTo(String path) {
+        return wireMockServer.findAll(WireMock.anyRequestedFor(WireMock.urlPathEqualTo(path))).size();
+    }
+
+    @Nested
+    @DisplayName("Tests for timeouts and retries")
+    class TimeoutAndRetryTests {
+        @Test
+        @DisplayName("retry a failed lookup and return the user")
+        void shouldRetryServerError() throws Exception {
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(BY_EMAIL))
+                    .inScenario("flaky")
+                    .whenScenarioStateIs(Scenario.STARTED)
+                    .willReturn(WireMock.aResponse().withStatus(503))
+                    .willSetStateTo("recovered"));
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(BY_EMAIL))
+                    .inScenario("flaky")
+                    .whenScenarioStateIs("recovered")
+                    .willReturn(WireMock.aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody(objectMapper.writeValueAsString(user("flaky@example.com")))));
+
+            assertThat(userClient.getUserByEmail("flaky@example.com")).isEqualTo(user("flaky@example.com"));
+            assertThat(requestsTo(BY_EMAIL)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("give up after retries of a dropped connection")
+        void shouldRetryConnectionResetAndFail() {
+            stubFault(BY_EMAIL, Fault.CONNECTION_RESET_BY_PEER);
+
+            assertThatExceptionOfType(UserServiceUnavailableException.class)
+                    .isThrownBy(() -> userClient.getUserByEmail("reset@example.com"));
+            assertThat(requestsTo(BY_EMAIL)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("time out a slow lookup instead of waiting for it")
+        void shouldTimeOutSlowResponse() throws Exception {
+            stubUser("slow@example.com", 2_000);
+
+            long start = System.nanoTime();
+            assertThatExceptionOfType(UserServiceUnavailableException.class)
+                    .isThrownBy(() -> userClient.getUserByEmail("slow@example.com"))
+                    .withCauseInstanceOf(FeignException.class);
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+            assertThat(requestsTo(BY_EMAIL)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("not retry unknown email and not count it as failure")
+        void shouldNotRetryNotFound() {
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(BY_EMAIL))
+                    .willReturn(WireMock.aResponse().withStatus(404)));
+
+            for (int i = 0; i < 5; i++) {
+                assertThatExceptionOfType(FeignException.NotFound.class)
+                        .isThrownBy(() -> userClient.getUserByEmail("unknown@example.com"));
+            }
+
+            assertThat(requestsTo(BY_EMAIL)).isEqualTo(5);
+            assertThat(userClientCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for circuit breaker")
+    class CircuitBreakerTests {
+        @Test
+        @DisplayName("open after failures and fail fast without calling user service")
+        void shouldOpenAndFailFast() {
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(BY_EMAIL))
+                    .willReturn(WireMock.aResponse().withStatus(500)));
+
+            for (int i = 0; i < 2; i++) {
+                assertThatExceptionOfType(UserServiceUnavailableException.class)
+                        .isThrownBy(() -> userClient.getUserByEmail("down@example.com"));
+            }
+            int requestsBeforeOpen = requestsTo(BY_EMAIL);
+
+            assertThat(userClientCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThatExceptionOfType(UserServiceUnavailableException.class)
+                    .isThrownBy(() -> userClient.getUserByEmail("down@example.com"))
+                    .withCauseInstanceOf(CallNotPermittedException.class);
+            assertThat(requestsTo(BY_EMAIL)).isEqualTo(requestsBeforeOpen);
+        }
+
+        @Test
+        @DisplayName("publish circuit breaker state as metric")
+        void shouldPublishState() {
+            userClientCircuitBreaker.transitionToOpenState();
+
+            double open = meterRegistry.get("resilience4j.circuitbreaker.state")
+                    .tags("name", "userService", "state", "open")
+                    .gauge()
+                    .value();
+
+            assertThat(open).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("serve stale users while open")
+        void shouldServeStaleUsersWhileOpen() throws Exception {
+            stubUser("known@example.com", 0);
+            userClient.getUserByEmail("known@example.com");
+            userClientCircuitBreaker.transitionToOpenState();
+
+            assertThat(userClient.getUserByEmail("known@example.com")).isEqualTo(user("known@example.com"));
+            assertThat(userClient.getUsersByEmails(List.of("known@example.com")))
+                    .containsExactly(Map.entry("known@example.com", user("known@example.com")));
+            assertThat(requestsTo(BY_EMAIL)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("not serve partial stale batch while open")
+        void shouldNotServePartialStaleBatch() throws Exception {
+            stubUser("known@example.com", 0);
+            userClient.getUserByEmail("known@example.com");
+            userClientCircuitBreaker.transitionToOpenState();
+
+            assertThatExceptionOfType(UserServiceUnavailableException.class)
+                    .isThrownBy(() -> userClient.getUsersByEmails(List.of("known@example.com", "new@example.com")));
+            assertThat(requestsTo(BY_EMAILS)).isZero();
+        }
+
+        @Test
+        @DisplayName("return 503 status on create while open")
+        void shouldReturnServiceUnavailable() throws Exception {
+            userClientCircuitBreaker.transitionToOpenState();
+            OrderRequestDto request = new OrderRequestDto("new@example.com", List.of(new OrderItemRequestDto(1L, 1)));
+
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isServiceUnavailable());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for bulkhead")
+    class BulkheadTests {
+        @Test
+        @DisplayName("reject calls over the concurrency limit without calling user service")
+        void shouldRejectCallsOverLimit() throws Exception {
+            stubUser("busy@example.com", 0);
+            // two calls in flight
+            userClientBulkhead.acquirePermission();
+            userClientBulkhead.acquirePermission();
+            try {
+                assertThatExceptionOfType(UserServiceUnavailableException.class)
+                        .isThrownBy(() -> userClient.getUserByEmail("busy@example.com"))
+                        .withCauseInstanceOf(BulkheadFullException.class);
+            } finally {
+                userClientBulkhead.releasePermission();
+                userClientBulkhead.releasePermission();
+            }
+
+            assertThat(requestsTo(BY_EMAIL)).isZero();
+            assertThat(userClient.getUserByEmail("busy@example.com")).isEqualTo(user("busy@example.com"));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.app.impl.integration.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Counts statements at the DataSource, so JDBC access that bypasses Hibernate is counted as well
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfig {
+
+	@Bean
+	StatementCounter statementCounter() {
+		return new StatementCounter();
+	}
+
+	@Bean
+	static BeanPostProcessor statementCountingDataSourcePostProcessor(StatementCounter statementCounter) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean instanceof DataSource dataSource
+						? new StatementCountingDataSource(dataSource, statementCounter)
+						: bean;
+			}
+		};
+	}
+
+	public static class StatementCounter {
+		private final AtomicLong count = new AtomicLong();
+
+		public long count() {
+			return count.get();
+		}
+
+		public void clear() {
+			count.set(0);
+		}
+
+		void increment() {
+			count.incrementAndGet();
+		}
+	}
+
+	private static class StatementCountingDataSource extends DelegatingDataSource {
+		private static final Set<String> STATEMENT_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+		private final StatementCounter statementCounter;
+
+		StatementCountingDataSource(DataSource dataSource, StatementCounter statementCounter) {
+			super(dataSource);
+			this.statementCounter = statementCounter;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return counting(super.getConnection());
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return counting(super.getConnection(username, password));
+		}
+
+		private Connection counting(Connection connection) {
+			return (Connection) Proxy.newProxyInstance(
+					Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class },
+					(proxy, method, args) -> {
+						if (STATEMENT_METHODS.contains(method.getName())) {
+							statementCounter.increment();
+						}
+						try {
+							return method.invoke(connection, args);
+						} catch (InvocationTargetException ex) {
+							throw ex.getTargetException();
+						}
+					}
+			);
+		}
+	}
+}
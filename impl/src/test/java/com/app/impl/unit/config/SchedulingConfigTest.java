@@ -0,0 +1,51 @@
+package com.app.impl.unit.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.app.impl.config.OrderEventConfig;
+import com.app.impl.config.ReportConfig;
+import com.app.impl.config.SchedulingConfig;
+import com.app.impl.service.event.OrderEventRelay;
+import com.app.impl.service.report.ReportRollup;
+
+class SchedulingConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SchedulingConfig.class, OrderEventConfig.class, ReportConfig.class)
+            .withBean(OrderEventRelay.class, () -> Mockito.mock(OrderEventRelay.class))
+            .withBean(ReportRollup.class, () -> Mockito.mock(ReportRollup.class))
+            .withPropertyValues(
+                    "order.events.relay.interval=10ms",
+                    "report.rollup.interval=10ms"
+            );
+
+    @Test
+    @DisplayName("run only the rollup when the relay is switched off")
+    void shouldRunOnlyRollup_whenRelayDisabled() {
+        contextRunner
+                .withPropertyValues("order.events.relay.enabled=false")
+                .run(context -> {
+                    ReportRollup rollup = context.getBean(ReportRollup.class);
+                    OrderEventRelay relay = context.getBean(OrderEventRelay.class);
+
+                    Mockito.verify(rollup, Mockito.timeout(1000).atLeast(2)).rollup();
+                    Mockito.verify(relay, Mockito.never()).relay();
+                });
+    }
+
+    @Test
+    @DisplayName("run only the relay when the rollup is switched off")
+    void shouldRunOnlyRelay_whenRollupDisabled() {
+        contextRunner
+                .withPropertyValues("report.rollup.enabled=false")
+                .run(context -> {
+                    OrderEventRelay relay = context.getBean(OrderEventRelay.class);
+                    ReportRollup rollup = context.getBean(ReportRollup.class);
+
+                    Mockito.verify(relay, Mockito.timeout(1000).atLeast(2)).relay();
+                    Mockito.verify(rollup, Mockito.never()).rollup();
+                });
+    }
+}
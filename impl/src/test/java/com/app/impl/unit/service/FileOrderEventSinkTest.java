@@ -0,0 +1,51 @@
+package com.app.impl.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import com.app.impl.config.OrderEventProperties;
+import com.app.impl.domain.OrderEventType;
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.event.OrderEventDto;
+import com.app.impl.service.event.FileOrderEventSink;
+
+class FileOrderEventSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("append every event of every batch as a json line")
+    void shouldAppendEventsAsJsonLines(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("order-events.ndjson");
+        FileOrderEventSink sink = new FileOrderEventSink(
+                new OrderEventProperties(
+                        new OrderEventProperties.Relay(Duration.ofSeconds(1), 500),
+                        new OrderEventProperties.Sink("file", 0, file)
+                ),
+                objectMapper
+        );
+        OrderEventDto created = new OrderEventDto(1L, 7L, OrderEventType.CREATED, "test@example.com",
+                OrderStatus.IN_PROCESS, 0L, LocalDateTime.of(2025, 1, 1, 12, 0));
+        OrderEventDto deleted = new OrderEventDto(2L, 7L, OrderEventType.DELETED, "test@example.com",
+                OrderStatus.IN_PROCESS, 1L, LocalDateTime.of(2025, 1, 1, 12, 5));
+
+        sink.publish(List.of(created));
+        sink.publish(List.of(deleted));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), OrderEventDto.class)).isEqualTo(created);
+        assertThat(objectMapper.readValue(lines.get(1), OrderEventDto.class)).isEqualTo(deleted);
+    }
+}
@@ -0,0 +1,187 @@
+package com.app.impl.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.app.impl.dto.item.BulkItemResultDto;
+import com.app.impl.dto.item.BulkItemResultDto.Status;
+import com.app.impl.dto.item.ItemRequestDto;
+import com.app.impl.dto.item.ItemResponseDto;
+import com.app.impl.dto.item.ItemUpdateRequestDto;
+import com.app.impl.entity.Item;
+import com.app.impl.mapper.ItemMapperImpl;
+import com.app.impl.repository.ItemBatchRepository;
+import com.app.impl.repository.ItemRepository;
+import com.app.impl.service.ItemBatchService;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBatchServiceTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemBatchRepository itemBatchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Cache<Long, ItemResponseDto> itemCache;
+    private ItemBatchService itemBatchService;
+
+    @BeforeEach
+    void setup() {
+        itemCache = Caffeine.newBuilder().build();
+        itemBatchService = new ItemBatchService(
+                itemRepository,
+                itemBatchRepository,
+                new ItemMapperImpl(),
+                itemCache,
+                new TransactionTemplate(transactionManager)
+        );
+    }
+
+    private static Item withId(Item item, long id) {
+        return new Item(id, item.getName(), item.getPrice());
+    }
+
+    @Nested
+    @DisplayName("Tests for createAll(List<ItemRequestDto> itemRequestDtos)")
+    class CreateAllTests {
+        @Test
+        @DisplayName("create new items in one flush, report existing and repeated ones with their ids")
+        void shouldCreateNewAndReportExisting() {
+            Mockito.when(itemRepository.findAllByNameIn(Mockito.anyCollection()))
+                    .thenReturn(List.of(new Item(1L, "existing", new BigDecimal("10.000"))));
+            Mockito.when(itemRepository.saveAllAndFlush(Mockito.anyList()))
+                    .thenAnswer(invocation -> List.of(withId(invocation.<List<Item>>getArgument(0).getFirst(), 2L)));
+
+            List<BulkItemResultDto> results = itemBatchService.createAll(List.of(
+                    new ItemRequestDto("existing", BigDecimal.TEN),
+                    new ItemRequestDto("new", new BigDecimal("5.5")),
+                    new ItemRequestDto("new", new BigDecimal("5.500"))
+            ));
+
+            assertThat(results)
+                    .extracting(BulkItemResultDto::index, BulkItemResultDto::id, BulkItemResultDto::status)
+                    .containsExactly(
+                            tuple(0, 1L, Status.EXISTING),
+                            tuple(1, 2L, Status.CREATED),
+                            tuple(2, 2L, Status.EXISTING)
+                    );
+            Mockito.verify(itemRepository, Mockito.times(1))
+                    .saveAllAndFlush(Mockito.anyList());
+            assertThat(itemCache.getIfPresent(2L)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("retry conflicting chunk item by item and report item created concurrently as existing")
+        void shouldRetryChunkItemByItem() {
+            Mockito.when(itemRepository.findAllByNameIn(Mockito.anyCollection()))
+                    .thenReturn(List.of())
+                    .thenReturn(List.of(new Item(7L, "raced", BigDecimal.ONE)));
+            Mockito.when(itemRepository.saveAllAndFlush(Mockito.anyList()))
+                    .thenThrow(new DataIntegrityViolationException("uk_items_name_price"));
+            Mockito.when(itemRepository.saveAndFlush(Mockito.any(Item.class)))
+                    .thenThrow(new DataIntegrityViolationException("uk_items_name_price"))
+                    .thenAnswer(invocation -> withId(invocation.getArgument(0), 8L));
+
+            List<BulkItemResultDto> results = itemBatchService.createAll(List.of(
+                    new ItemRequestDto("raced", BigDecimal.ONE),
+                    new ItemRequestDto("other", BigDecimal.ONE)
+            ));
+
+            assertThat(results)
+                    .extracting(BulkItemResultDto::id, BulkItemResultDto::status)
+                    .containsExactly(tuple(7L, Status.EXISTING), tuple(8L, Status.CREATED));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for updateAll(List<ItemUpdateRequestDto> itemUpdateRequestDtos)")
+    class UpdateAllTests {
+        @Test
+        @DisplayName("load items once, write only changed ones and report the rest")
+        void shouldUpdateChangedItems() {
+            Mockito.when(itemRepository.findAllById(Mockito.anyCollection()))
+                    .thenReturn(List.of(
+                            new Item(1L, "item_1", new BigDecimal("10.000")),
+                            new Item(2L, "item_2", new BigDecimal("20.000")),
+                            new Item(3L, "item_3", new BigDecimal("30.000"))
+                    ));
+            Mockito.when(itemRepository.findAllByNameIn(Mockito.anyCollection()))
+                    .thenReturn(List.of(new Item(2L, "item_2", new BigDecimal("20.000"))));
+            Mockito.when(itemBatchRepository.updateAll(Mockito.anyList()))
+                    .thenReturn(new int[] { 1 });
+
+            List<BulkItemResultDto> results = itemBatchService.updateAll(List.of(
+                    new ItemUpdateRequestDto(1L, "item_1", new BigDecimal("11")),
+                    new ItemUpdateRequestDto(2L, "item_2", new BigDecimal("20")),
+                    new ItemUpdateRequestDto(3L, "item_2", new BigDecimal("20")),
+                    new ItemUpdateRequestDto(4L, "item_4", BigDecimal.ONE),
+                    new ItemUpdateRequestDto(1L, "item_1", BigDecimal.ONE)
+            ));
+
+            assertThat(results)
+                    .extracting(BulkItemResultDto::id, BulkItemResultDto::status)
+                    .containsExactly(
+                            tuple(1L, Status.UPDATED),
+                            tuple(2L, Status.UNCHANGED),
+                            tuple(3L, Status.CONFLICT),
+                            tuple(4L, Status.NOT_FOUND),
+                            tuple(1L, Status.CONFLICT)
+                    );
+            Mockito.verify(itemRepository, Mockito.times(1))
+                    .findAllById(Mockito.anyCollection());
+            Mockito.verify(itemBatchRepository, Mockito.times(1))
+                    .updateAll(List.of(new Item(1L, "item_1", new BigDecimal("11"))));
+            assertThat(Optional.ofNullable(itemCache.getIfPresent(1L)))
+                    .map(ItemResponseDto::price)
+                    .contains(new BigDecimal("11"));
+        }
+
+        @Test
+        @DisplayName("retry conflicting chunk item by item, so only the conflicting item fails")
+        void shouldRetryChunkItemByItem() {
+            Mockito.when(itemRepository.findAllById(Mockito.anyCollection()))
+                    .thenReturn(List.of(
+                            new Item(1L, "item_1", BigDecimal.ONE),
+                            new Item(2L, "item_2", BigDecimal.ONE)
+                    ));
+            Mockito.when(itemRepository.findAllByNameIn(Mockito.anyCollection()))
+                    .thenReturn(List.of());
+            Mockito.when(itemBatchRepository.updateAll(Mockito.anyList()))
+                    .thenThrow(new DuplicateKeyException("uk_items_name_price"))
+                    .thenThrow(new DuplicateKeyException("uk_items_name_price"))
+                    .thenReturn(new int[] { 1 });
+
+            List<BulkItemResultDto> results = itemBatchService.updateAll(List.of(
+                    new ItemUpdateRequestDto(1L, "raced", BigDecimal.TEN),
+                    new ItemUpdateRequestDto(2L, "item_2", BigDecimal.TEN)
+            ));
+
+            assertThat(results)
+                    .extracting(BulkItemResultDto::id, BulkItemResultDto::status)
+                    .containsExactly(tuple(1L, Status.CONFLICT), tuple(2L, Status.UPDATED));
+        }
+    }
+}
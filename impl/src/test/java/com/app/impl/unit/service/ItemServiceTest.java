@@ -9,18 +9,22 @@ import java.util.List;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import com.app.impl.dto.item.ItemRequestDto;
 import com.app.impl.dto.item.ItemResponseDto;
 import com.app.impl.dto.item.ItemUpdateRequestDto;
+import com.app.impl.dto.page.CursorPageDto;
 import com.app.impl.entity.Item;
 import com.app.impl.exception.NoSuchItemException;
 import com.app.impl.mapper.ItemMapper;
@@ -35,9 +39,13 @@ class ItemServiceTest {
     @Mock
     private ItemMapper itemMapper;
 
-    @InjectMocks
     private ItemService itemService;
 
+    @BeforeEach
+    void setup() {
+        itemService = new ItemService(itemRepository, itemMapper, null, Caffeine.newBuilder().build());
+    }
+
     @Nested
     @DisplayName("Tests for create(ItemRequestDto itemRequestDto)")
     class createItemTests {
@@ -128,6 +136,22 @@ class ItemServiceTest {
                     .toResponse(savedItem);
         }
 
+        @Test
+        @DisplayName("refreshes cached item")
+        void shouldRefreshCachedItem() {
+            Mockito.when(itemRepository.findById(itemUpdateRequestDto.id()))
+                    .thenReturn(Optional.of(savedItem));
+            Mockito.when(itemMapper.toResponse(savedItem))
+                    .thenReturn(new ItemResponseDto(1L, "test_item", BigDecimal.valueOf(144.44)))
+                    .thenReturn(itemResponseDto);
+
+            itemService.getById(1L);
+            itemService.update(itemUpdateRequestDto);
+            ItemResponseDto actualValue = itemService.getById(1L);
+
+            assertThat(actualValue).isEqualTo(itemResponseDto);
+        }
+
         @Test
         @DisplayName("throws NoSuchItemException")
         void shouldThrowNoSuchItemException() {
@@ -155,6 +179,23 @@ class ItemServiceTest {
             Mockito.verify(itemRepository, Mockito.times(1))
                     .deleteById(1L);
         }
+
+        @Test
+        @DisplayName("evicts deleted item from cache")
+        void shouldEvictDeletedItem() {
+            Item item = new Item(1L, "test_item", BigDecimal.valueOf(144.44));
+            Mockito.when(itemRepository.findById(1L))
+                    .thenReturn(Optional.of(item))
+                    .thenReturn(Optional.empty());
+            Mockito.when(itemMapper.toResponse(item))
+                    .thenReturn(new ItemResponseDto(1L, "test_item", BigDecimal.valueOf(144.44)));
+
+            itemService.getById(1L);
+            itemService.deleteById(1L);
+
+            assertThatExceptionOfType(NoSuchItemException.class)
+                    .isThrownBy(() -> itemService.getById(1L));
+        }
     }
 
     @Nested
@@ -189,6 +230,38 @@ class ItemServiceTest {
                     .toResponse(item);
         }
 
+        @Test
+        @DisplayName("loads item once and serves next reads from cache")
+        void shouldCacheItem() {
+            Mockito.when(itemRepository.findById(1L))
+                    .thenReturn(Optional.of(item));
+            Mockito.when(itemMapper.toResponse(item))
+                    .thenReturn(itemResponseDto);
+
+            itemService.getById(1L);
+            ItemResponseDto actualValue = itemService.getById(1L);
+
+            assertThat(actualValue).isEqualTo(itemResponseDto);
+
+            Mockito.verify(itemRepository, Mockito.times(1))
+                    .findById(1L);
+        }
+
+        @Test
+        @DisplayName("doesn't cache missing item")
+        void shouldNotCacheMissingItem() {
+            Mockito.when(itemRepository.findById(1L))
+                    .thenReturn(Optional.empty());
+
+            assertThatExceptionOfType(NoSuchItemException.class)
+                    .isThrownBy(() -> itemService.getById(1L));
+            assertThatExceptionOfType(NoSuchItemException.class)
+                    .isThrownBy(() -> itemService.getById(1L));
+
+            Mockito.verify(itemRepository, Mockito.times(2))
+                    .findById(1L);
+        }
+
         @Test
         @DisplayName("returns NoSuchItemException while searching by id")
         void shouldThrowNoSuchItemExceptionWhileFindingById() {
@@ -241,34 +314,88 @@ class ItemServiceTest {
         @Test
         @DisplayName("returns list of items by ids")
         void shouldReturnListOfUsersByIds() {
-            Mockito.when(itemRepository.findAllById(List.of(1L, 2L)))
+            Mockito.when(itemRepository.findAllById(Mockito.anyList()))
                     .thenReturn(items);
-            Mockito.when(itemMapper.toResponseList(items))
-                    .thenReturn(mappedItems);
+            Mockito.when(itemMapper.toResponse(items.get(0)))
+                    .thenReturn(mappedItems.get(0));
+            Mockito.when(itemMapper.toResponse(items.get(1)))
+                    .thenReturn(mappedItems.get(1));
 
             List<ItemResponseDto> actualValues = itemService.getAllByIds(List.of(1L, 2L));
 
-            Assertions.assertThat(actualValues).containsExactlyInAnyOrderElementsOf(mappedItems);
+            Assertions.assertThat(actualValues).containsExactlyElementsOf(mappedItems);
 
             Mockito.verify(itemRepository, Mockito.times(1))
-                    .findAllById(List.of(1L, 2L));
-            Mockito.verify(itemMapper, Mockito.times(1))
-                    .toResponseList(items);
+                    .findAllById(Mockito.anyList());
+        }
+
+        @Test
+        @DisplayName("loads only items missing in cache")
+        void shouldLoadOnlyNotCachedItems() {
+            Mockito.when(itemRepository.findById(1L))
+                    .thenReturn(Optional.of(items.get(0)));
+            Mockito.when(itemRepository.findAllById(List.of(2L)))
+                    .thenReturn(List.of(items.get(1)));
+            Mockito.when(itemMapper.toResponse(items.get(0)))
+                    .thenReturn(mappedItems.get(0));
+            Mockito.when(itemMapper.toResponse(items.get(1)))
+                    .thenReturn(mappedItems.get(1));
+
+            itemService.getById(1L);
+            List<ItemResponseDto> actualValues = itemService.getAllByIds(List.of(1L, 2L));
+
+            Assertions.assertThat(actualValues).containsExactlyElementsOf(mappedItems);
+
+            Mockito.verify(itemRepository, Mockito.times(1))
+                    .findAllById(List.of(2L));
         }
 
         @Test
         @DisplayName("returns NoSuchItemException")
         void shouldReturnNoSuchItemException() {
-            Mockito.when(itemRepository.findAllById(List.of(1L, 2L)))
+            Mockito.when(itemRepository.findAllById(Mockito.anyList()))
                     .thenReturn(List.of());
 
             assertThatExceptionOfType(NoSuchItemException.class)
                     .isThrownBy(() -> itemService.getAllByIds(List.of(1L, 2L)));
 
             Mockito.verify(itemRepository, Mockito.times(1))
-                    .findAllById(List.of(1L, 2L));
+                    .findAllById(Mockito.anyList());
             Mockito.verify(itemMapper, Mockito.never())
-                    .toResponseList(Mockito.any());
+                    .toResponse(Mockito.any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getListOfItemEntitiesById(List<Long> ids)")
+    class getListOfItemEntitiesByIdTests {
+        @Test
+        @DisplayName("read prices from DB even when items are cached")
+        void shouldReadEntitiesFromRepositoryWhenCached() {
+            Item cachedItem = new Item(1L, "test_item_1", BigDecimal.valueOf(144.44));
+            Item updatedItem = new Item(1L, "test_item_1", BigDecimal.valueOf(150.00));
+            Mockito.when(itemRepository.findById(1L))
+                    .thenReturn(Optional.of(cachedItem));
+            Mockito.when(itemMapper.toResponse(cachedItem))
+                    .thenReturn(new ItemResponseDto(1L, "test_item_1", BigDecimal.valueOf(144.44)));
+            Mockito.when(itemRepository.findAllById(List.of(1L)))
+                    .thenReturn(List.of(updatedItem));
+
+            itemService.getById(1L);
+            List<Item> actualValues = itemService.getListOfItemEntitiesById(List.of(1L, 1L));
+
+            Assertions.assertThat(actualValues).containsExactly(updatedItem);
+        }
+
+        @Test
+        @DisplayName("throw NoSuchItemException with missing ids")
+        void shouldThrowNoSuchItemException() {
+            Mockito.when(itemRepository.findAllById(List.of(1L, 2L)))
+                    .thenReturn(List.of(new Item(1L, "test_item_1", BigDecimal.valueOf(144.44))));
+
+            assertThatExceptionOfType(NoSuchItemException.class)
+                    .isThrownBy(() -> itemService.getListOfItemEntitiesById(List.of(1L, 2L)))
+                    .withMessageContaining("2");
         }
     }
 
@@ -341,4 +468,68 @@ class ItemServiceTest {
                     .toResponseList(List.of());
         }
     }
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("Tests for getPage(Long after, int limit)")
+    class getPageTests {
+        List<Item> items = new ArrayList<>(
+                List.of(
+                        new Item(
+                                3L,
+                                "test_item_3",
+                                BigDecimal.valueOf(144.44)
+                        ),
+                        new Item(
+                                4L,
+                                "test_item_4",
+                                BigDecimal.valueOf(244.32)
+                        )
+                )
+        );
+
+        List<ItemResponseDto> mappedItems = new ArrayList<>(
+                List.of(
+                        new ItemResponseDto(
+                                3L,
+                                "test_item_3",
+                                BigDecimal.valueOf(144.44)
+                        ),
+                        new ItemResponseDto(
+                                4L,
+                                "test_item_4",
+                                BigDecimal.valueOf(244.32)
+                        )
+                )
+        );
+
+        @Test
+        @DisplayName("return full page with cursor of its last item")
+        void shouldReturnPageWithNextCursor() {
+            Mockito.when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(2L, Limit.of(2)))
+                    .thenReturn(items);
+            Mockito.when(itemMapper.toResponseList(items))
+                    .thenReturn(mappedItems);
+
+            CursorPageDto<ItemResponseDto> actualValue = itemService.getPage(2L, 2);
+
+            Assertions.assertThat(actualValue.content()).containsExactlyElementsOf(mappedItems);
+            assertThat(actualValue.nextCursor()).isEqualTo("4");
+
+            Mockito.verify(itemRepository, Mockito.times(1))
+                    .findAllByIdGreaterThanOrderByIdAsc(2L, Limit.of(2));
+        }
+
+        @Test
+        @DisplayName("return last page without cursor")
+        void shouldReturnLastPageWithoutCursor() {
+            Mockito.when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(2L, Limit.of(10)))
+                    .thenReturn(items);
+            Mockito.when(itemMapper.toResponseList(items))
+                    .thenReturn(mappedItems);
+
+            CursorPageDto<ItemResponseDto> actualValue = itemService.getPage(2L, 10);
+
+            Assertions.assertThat(actualValue.content()).containsExactlyElementsOf(mappedItems);
+            assertThat(actualValue.nextCursor()).isNull();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.app.impl.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.app.impl.config.OrderEventProperties;
+import com.app.impl.domain.OrderEventType;
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.event.OrderEventDto;
+import com.app.impl.entity.OrderEvent;
+import com.app.impl.mapper.OrderEventMapper;
+import com.app.impl.repository.OrderEventRepository;
+import com.app.impl.service.event.OrderEventRelay;
+import com.app.impl.service.event.OrderEventSink;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventRelayTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private OrderEventRepository orderEventRepository;
+
+    @Mock
+    private OrderEventMapper orderEventMapper;
+
+    @Mock
+    private OrderEventSink sink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderEventRelay relay;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OrderEventRelay(
+                orderEventRepository,
+                orderEventMapper,
+                sink,
+                transactionTemplate,
+                new OrderEventProperties(
+                        new OrderEventProperties.Relay(Duration.ofSeconds(1), BATCH_SIZE),
+                        new OrderEventProperties.Sink("memory", 100, Path.of("order-events.ndjson"))
+                ),
+                meterRegistry
+        );
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Nested
+    @DisplayName("Tests for relay()")
+    class RelayTests {
+        @Test
+        @DisplayName("publish batches until the outbox is drained, deleting each published batch")
+        void shouldPublishAndDeleteBatches() {
+            List<OrderEvent> first = List.of(event(1L), event(2L));
+            List<OrderEvent> second = List.of(event(3L));
+            Mockito.when(orderEventRepository.findAllByOrderByIdAsc(Limit.of(BATCH_SIZE)))
+                    .thenReturn(first, second);
+            Mockito.when(orderEventMapper.toDto(Mockito.any()))
+                    .thenAnswer(invocation -> dto(invocation.<OrderEvent>getArgument(0)));
+
+            relay.relay();
+
+            Mockito.verify(sink).publish(List.of(dto(first.get(0)), dto(first.get(1))));
+            Mockito.verify(sink).publish(List.of(dto(second.get(0))));
+            Mockito.verify(orderEventRepository).deleteAllInBatch(first);
+            Mockito.verify(orderEventRepository).deleteAllInBatch(second);
+            assertThat(meterRegistry.counter("order.events.published").count()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("do nothing on empty outbox")
+        void shouldSkipEmptyOutbox() {
+            Mockito.when(orderEventRepository.findAllByOrderByIdAsc(Limit.of(BATCH_SIZE)))
+                    .thenReturn(List.of());
+
+            relay.relay();
+
+            Mockito.verifyNoInteractions(sink);
+            Mockito.verify(orderEventRepository, Mockito.never())
+                    .deleteAllInBatch(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("keep events of a batch the sink failed to accept")
+        void shouldKeepEventsOnSinkFailure() {
+            Mockito.when(orderEventRepository.findAllByOrderByIdAsc(Limit.of(BATCH_SIZE)))
+                    .thenReturn(List.of(event(1L), event(2L)));
+            Mockito.doThrow(new IllegalStateException("sink is down"))
+                    .when(sink).publish(Mockito.any());
+
+            relay.relay();
+
+            Mockito.verify(sink, Mockito.times(1))
+                    .publish(Mockito.any());
+            Mockito.verify(orderEventRepository, Mockito.never())
+                    .deleteAllInBatch(Mockito.any());
+            assertThat(meterRegistry.counter("order.events.publish.failures").count()).isEqualTo(1);
+            assertThat(meterRegistry.counter("order.events.published").count()).isZero();
+        }
+    }
+
+    private OrderEvent event(Long id) {
+        return new OrderEvent(id, 10L + id, OrderEventType.CREATED, "test@example.com", OrderStatus.IN_PROCESS, 0L, LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+
+    private OrderEventDto dto(OrderEvent event) {
+        return new OrderEventDto(
+                event.getId(),
+                event.getOrderId(),
+                event.getType(),
+                event.getUserEmail(),
+                event.getStatus(),
+                event.getOrderVersion(),
+                event.getCreatedAt()
+        );
+    }
+}
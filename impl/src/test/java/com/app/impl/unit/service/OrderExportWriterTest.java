@@ -0,0 +1,100 @@
+package com.app.impl.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.app.impl.domain.OrderStatus;
+import com.app.impl.repository.OrderExportRepository.ExportRow;
+import com.app.impl.service.export.CsvOrderExportWriter;
+import com.app.impl.service.export.NdjsonOrderExportWriter;
+import com.app.impl.service.export.OrderExportWriter;
+
+class OrderExportWriterTest {
+    private static final LocalDateTime CREATION_DATE = LocalDateTime.of(2025, 1, 2, 3, 4);
+
+    private static ExportRow line(long orderId, long orderItemId, long itemId, int quantity) {
+        return new ExportRow(
+                orderId, "user@example.com", OrderStatus.IN_PROCESS, CREATION_DATE, new BigDecimal("30.000"), 1,
+                orderItemId, itemId, quantity, new BigDecimal("10.000")
+        );
+    }
+
+    private static ExportRow emptyOrder(long orderId, String userEmail) {
+        return new ExportRow(
+                orderId, userEmail, OrderStatus.CANCELLED, CREATION_DATE, BigDecimal.ZERO, 0,
+                null, null, null, null
+        );
+    }
+
+    private static String write(OrderExportWriter writer, ByteArrayOutputStream output, ExportRow... rows) {
+        writer.start();
+        for (ExportRow row : rows) {
+            writer.accept(row);
+        }
+        writer.finish();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Tests for CsvOrderExportWriter")
+    class CsvTests {
+        @Test
+        @DisplayName("write header, line per row and quote values with separators")
+        void shouldWriteCsv() {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            String csv = write(
+                    new CsvOrderExportWriter(output), output,
+                    line(1, 10, 100, 3), emptyOrder(2, "a,\"b\"@example.com")
+            );
+
+            assertThat(csv).isEqualTo(
+                    "order_id,user_email,status,creation_date,total_price,version,order_item_id,item_id,quantity,unit_price\r\n"
+                            + "1,user@example.com,IN_PROCESS,2025-01-02T03:04:00,30.000,1,10,100,3,10.000\r\n"
+                            + "2,\"a,\"\"b\"\"@example.com\",CANCELLED,2025-01-02T03:04:00,0,0,,,,\r\n"
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for NdjsonOrderExportWriter")
+    class NdjsonTests {
+        @Test
+        @DisplayName("write json line per order with lines of adjacent rows nested")
+        void shouldGroupLinesOfOrder() {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            String ndjson = write(
+                    new NdjsonOrderExportWriter(output, new ObjectMapper()), output,
+                    line(1, 10, 100, 1), line(1, 11, 101, 2), emptyOrder(2, "user@example.com")
+            );
+
+            assertThat(ndjson).isEqualTo(
+                    "{\"id\":1,\"userEmail\":\"user@example.com\",\"status\":\"IN_PROCESS\","
+                            + "\"creationDate\":\"2025-01-02T03:04:00\",\"totalPrice\":30.000,\"version\":1,\"orderItems\":["
+                            + "{\"id\":10,\"itemId\":100,\"quantity\":1,\"unitPrice\":10.000},"
+                            + "{\"id\":11,\"itemId\":101,\"quantity\":2,\"unitPrice\":10.000}]}\n"
+                            + "{\"id\":2,\"userEmail\":\"user@example.com\",\"status\":\"CANCELLED\","
+                            + "\"creationDate\":\"2025-01-02T03:04:00\",\"totalPrice\":0,\"version\":0,\"orderItems\":[]}\n"
+            );
+        }
+
+        @Test
+        @DisplayName("write nothing when there are no rows")
+        void shouldWriteNothingWithoutRows() {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            assertThat(write(new NdjsonOrderExportWriter(output, new ObjectMapper()), output)).isEmpty();
+        }
+    }
+}
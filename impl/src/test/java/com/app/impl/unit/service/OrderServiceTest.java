@@ -8,30 +8,60 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import jakarta.persistence.EntityManager;
 
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.app.impl.domain.OrderEventType;
 import com.app.impl.domain.OrderStatus;
+import com.app.impl.dto.order.BulkOrderResultDto;
 import com.app.impl.dto.order.OrderRequestDto;
 import com.app.impl.dto.order.OrderResponseDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateRequestDto;
+import com.app.impl.dto.order.OrderStatusBulkUpdateResultDto;
 import com.app.impl.dto.order.OrderUpdateRequestDto;
 import com.app.impl.dto.orderItem.OrderItemRequestDto;
+import com.app.impl.dto.page.CreationDateCursor;
+import com.app.impl.dto.page.CursorPageDto;
 import com.app.impl.dto.user.UserResponseDto;
 import com.app.impl.entity.Item;
 import com.app.impl.entity.Order;
+import com.app.impl.entity.OrderEvent;
+import com.app.impl.entity.OrderItem;
+import com.app.impl.exception.InvalidCursorException;
+import com.app.impl.exception.InvalidStatusTransitionException;
+import com.app.impl.exception.NoSuchItemException;
 import com.app.impl.exception.NoSuchOrderException;
+import com.app.impl.exception.OrderVersionConflictException;
+import com.app.impl.exception.PreconditionFailedException;
+import com.app.impl.exception.NoSuchUserException;
+import com.app.impl.mapper.OrderEventMapper;
 import com.app.impl.mapper.OrderMapper;
 import com.app.impl.mapper.OrderItemMapper;
+import com.app.impl.repository.OrderEventRepository;
+import com.app.impl.repository.OrderReadRepository;
+import com.app.impl.repository.OrderReadRepository.OrderRow;
 import com.app.impl.repository.OrderRepository;
+import com.app.impl.repository.ReportDeltaRepository;
 import com.app.impl.service.ItemService;
 import com.app.impl.service.OrderService;
 import com.app.impl.service.UserService;
@@ -41,6 +71,18 @@ class OrderServiceTest {
     @Mock 
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderReadRepository orderReadRepository;
+
+    @Mock
+    private OrderEventRepository orderEventRepository;
+
+    @Mock
+    private OrderEventMapper orderEventMapper;
+
+    @Mock
+    private ReportDeltaRepository reportDeltaRepository;
+
     @Mock
     private OrderMapper orderMapper;
 
@@ -53,6 +95,12 @@ class OrderServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -69,14 +117,18 @@ class OrderServiceTest {
                 "test@example.com",
                 OrderStatus.IN_PROCESS,
                 LocalDateTime.now(),
-                new ArrayList<>()
+                new ArrayList<>(),
+                null,
+                BigDecimal.ZERO
         );
         private Order postSavedOrder = new Order(
                 1L,
                 "test@example.com",
                 OrderStatus.IN_PROCESS,
                 LocalDateTime.now(),
-                new ArrayList<>()
+                new ArrayList<>(),
+                0L,
+                BigDecimal.ZERO
         );
         private Item item1 = new Item(1L, "item1", BigDecimal.valueOf(100.0));
         private Item item2 = new Item(2L, "item2", BigDecimal.valueOf(200.0));
@@ -86,17 +138,23 @@ class OrderServiceTest {
                 OrderStatus.IN_PROCESS,
                 LocalDateTime.now(),
                 new ArrayList<>(),
-                userResponseDto
+                userResponseDto,
+                0L,
+                BigDecimal.ZERO
         );
 
+        @BeforeEach
+        void setup() {
+            Mockito.when(transactionTemplate.execute(Mockito.any()))
+                    .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        }
+
         @Test
         @DisplayName("returns OrderResponseDto if order was successfully created")
         void shouldSaveAndReturnOrder() {
 
             Mockito.when(orderMapper.toEntity(orderRequestDto))
                     .thenReturn(preSavedOrder);
-            Mockito.when(itemService.getAllByIds(List.of(1L, 2L)))
-                    .thenReturn(List.of());
             Mockito.when(itemService.getListOfItemEntitiesById(List.of(1L, 2L)))
                     .thenReturn(List.of(item1, item2));
             Mockito.when(orderRepository.save(Mockito.any(Order.class)))
@@ -114,19 +172,126 @@ class OrderServiceTest {
 
             Mockito.verify(orderMapper, Mockito.times(1))
                     .toEntity(orderRequestDto);
-            Mockito.verify(itemService, Mockito.times(1))
-                    .getAllByIds(List.of(1L, 2L));
+            Mockito.verify(itemService, Mockito.never())
+                    .getAllByIds(Mockito.any());
             Mockito.verify(itemService, Mockito.times(1))
                     .getListOfItemEntitiesById(List.of(1L, 2L));
             Mockito.verify(orderRepository, Mockito.times(1))
                     .save(Mockito.any(Order.class));
             Mockito.verify(orderMapper, Mockito.times(1))
                     .toResponse(postSavedOrder);
+            Mockito.verify(orderEventMapper, Mockito.times(1))
+                    .toEvent(postSavedOrder, OrderEventType.CREATED);
+            Mockito.verify(reportDeltaRepository, Mockito.times(1))
+                    .recordCreated(List.of(postSavedOrder));
+            Mockito.verify(orderEventRepository, Mockito.times(1))
+                    .save(Mockito.any());
             Mockito.verify(orderItemMapper, Mockito.never())
                     .toDto(Mockito.any());
             Mockito.verify(userService, Mockito.times(1))
                     .getUserByEmail("test@example.com");
         }
+
+        @Test
+        @DisplayName("snapshot item prices into lines and compute the order total")
+        void shouldComputePrices() {
+            Mockito.when(orderMapper.toEntity(orderRequestDto))
+                    .thenReturn(preSavedOrder);
+            Mockito.when(itemService.getListOfItemEntitiesById(List.of(1L, 2L)))
+                    .thenReturn(List.of(item1, item2));
+            Mockito.when(orderRepository.save(Mockito.any(Order.class)))
+                    .thenReturn(postSavedOrder);
+            Mockito.when(orderMapper.toResponse(postSavedOrder))
+                    .thenReturn(orderResponseDto);
+
+            orderService.create(orderRequestDto);
+
+            Assertions.assertThat(preSavedOrder.getOrderItems())
+                    .extracting(orderItem -> orderItem.getItem().getId(), OrderItem::getUnitPrice)
+                    .containsExactlyInAnyOrder(
+                            Assertions.tuple(1L, item1.getPrice()),
+                            Assertions.tuple(2L, item2.getPrice())
+                    );
+            assertThat(preSavedOrder.getTotalPrice()).isEqualByComparingTo("400.0");
+        }
+
+        @Test
+        @DisplayName("load duplicated items once, merging their quantities")
+        void shouldLoadDuplicatedItemsOnce() {
+            OrderRequestDto requestWithDuplicates = new OrderRequestDto(
+                    "test@example.com",
+                    List.of(orderItemRequestDto1, orderItemRequestDto2, new OrderItemRequestDto(1L, 3))
+            );
+            Mockito.when(orderMapper.toEntity(requestWithDuplicates))
+                    .thenReturn(preSavedOrder);
+            Mockito.when(itemService.getListOfItemEntitiesById(List.of(1L, 2L)))
+                    .thenReturn(List.of(item1, item2));
+            Mockito.when(orderRepository.save(Mockito.any(Order.class)))
+                    .thenReturn(postSavedOrder);
+            Mockito.when(orderMapper.toResponse(postSavedOrder))
+                    .thenReturn(orderResponseDto);
+
+            orderService.create(requestWithDuplicates);
+
+            Assertions.assertThat(preSavedOrder.getOrderItems())
+                    .extracting(OrderItem::getQuantity)
+                    .containsExactlyInAnyOrder(5, 1);
+            Mockito.verify(itemService, Mockito.times(1))
+                    .getListOfItemEntitiesById(List.of(1L, 2L));
+        }
+
+        @Test
+        @DisplayName("throw NoSuchItemException and save nothing if some item is missing")
+        void shouldThrowIfItemMissing() {
+            Mockito.when(orderMapper.toEntity(orderRequestDto))
+                    .thenReturn(preSavedOrder);
+            Mockito.when(itemService.getListOfItemEntitiesById(List.of(1L, 2L)))
+                    .thenThrow(new NoSuchItemException(List.of(2L)));
+
+            assertThatExceptionOfType(NoSuchItemException.class)
+                    .isThrownBy(() -> orderService.create(orderRequestDto));
+
+            Mockito.verify(orderRepository, Mockito.never())
+                    .save(Mockito.any());
+            Mockito.verifyNoInteractions(orderEventRepository);
+        }
+
+        @Test
+        @DisplayName("resolve user before the transaction starts")
+        void shouldResolveUserBeforeTransaction() {
+            Mockito.when(orderMapper.toEntity(orderRequestDto))
+                    .thenReturn(preSavedOrder);
+            Mockito.when(itemService.getListOfItemEntitiesById(List.of(1L, 2L)))
+                    .thenReturn(List.of(item1, item2));
+            Mockito.when(orderRepository.save(Mockito.any(Order.class)))
+                    .thenReturn(postSavedOrder);
+            Mockito.when(orderMapper.toResponse(postSavedOrder))
+                    .thenReturn(orderResponseDto);
+            Mockito.when(userService.getUserByEmail("test@example.com"))
+                    .thenReturn(userResponseDto);
+
+            orderService.create(orderRequestDto);
+
+            InOrder inOrder = Mockito.inOrder(userService, transactionTemplate);
+            inOrder.verify(userService).getUserByEmail("test@example.com");
+            inOrder.verify(transactionTemplate).execute(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("throw NoSuchUserException without starting a transaction")
+        void shouldThrowIfUserMissing() {
+            Mockito.reset(transactionTemplate);
+            Mockito.when(userService.getUserByEmail("test@example.com"))
+                    .thenThrow(new NoSuchUserException("test@example.com"));
+
+            assertThatExceptionOfType(NoSuchUserException.class)
+                    .isThrownBy(() -> orderService.create(orderRequestDto));
+
+            Mockito.verify(transactionTemplate, Mockito.never())
+                    .execute(Mockito.any());
+            Mockito.verify(orderRepository, Mockito.never())
+                    .save(Mockito.any());
+        }
     }
 
     @Nested
@@ -141,14 +306,18 @@ class OrderServiceTest {
                 "test@example.com",
                 OrderStatus.IN_PROCESS,
                 LocalDateTime.now(),
-                new ArrayList<>()
+                new ArrayList<>(),
+                0L,
+                BigDecimal.ZERO
         );
         private Order updatedOrder = new Order(
                 1L,
                 "test@example.com",
                 OrderStatus.COMPLETED,
                 LocalDateTime.now(),
-                new ArrayList<>()
+                new ArrayList<>(),
+                0L,
+                BigDecimal.ZERO
         );
         private UserResponseDto userResponseDto = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test@example.com");
         private OrderResponseDto orderResponseDto = new OrderResponseDto(
@@ -156,16 +325,24 @@ class OrderServiceTest {
                 OrderStatus.COMPLETED,
                 LocalDateTime.now(),
                 new ArrayList<>(),
-                userResponseDto
+                userResponseDto,
+                0L,
+                BigDecimal.ZERO
         );
 
+        @BeforeEach
+        void setup() {
+            Mockito.when(transactionTemplate.execute(Mockito.any()))
+                    .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        }
+
         @Test
         @DisplayName("updates order")
         void shouldUpdateOrder() {
 
             Mockito.when(orderRepository.findById(1L))
                     .thenReturn(Optional.of(savedOrder));
-            Mockito.when(orderRepository.save(Mockito.any(Order.class)))
+            Mockito.when(orderRepository.saveAndFlush(Mockito.any(Order.class)))
                     .thenReturn(updatedOrder);
             Mockito.when(orderMapper.toResponse(updatedOrder))
                     .thenReturn(orderResponseDto);
@@ -181,15 +358,165 @@ class OrderServiceTest {
             Mockito.verify(orderRepository, Mockito.times(1))
                     .findById(1L);
             Mockito.verify(orderRepository, Mockito.times(1))
-                    .save(Mockito.any(Order.class));
+                    .saveAndFlush(Mockito.any(Order.class));
             Mockito.verify(orderMapper, Mockito.times(1))
                     .toResponse(updatedOrder);
+            Mockito.verify(orderEventMapper, Mockito.times(1))
+                    .toEvent(updatedOrder, OrderEventType.UPDATED);
+            Mockito.verify(reportDeltaRepository, Mockito.times(1))
+                    .recordStatusChanged(updatedOrder, OrderStatus.IN_PROCESS);
+            Mockito.verify(orderEventRepository, Mockito.times(1))
+                    .save(Mockito.any());
             Mockito.verify(orderItemMapper, Mockito.never())
                     .toDto(Mockito.any());
             Mockito.verify(userService, Mockito.times(1))
                     .getUserByEmail("test@example.com");
         }
 
+        @Test
+        @DisplayName("resolve user after the transaction is committed")
+        void shouldResolveUserAfterTransaction() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(savedOrder));
+            Mockito.when(orderRepository.saveAndFlush(Mockito.any(Order.class)))
+                    .thenReturn(updatedOrder);
+            Mockito.when(orderMapper.toResponse(updatedOrder))
+                    .thenReturn(orderResponseDto);
+
+            orderService.update(orderUpdateRequestDto);
+
+            InOrder inOrder = Mockito.inOrder(orderRepository, transactionTemplate, userService);
+            inOrder.verify(transactionTemplate).execute(Mockito.any());
+            inOrder.verify(userService).getUserByEmail("test@example.com");
+        }
+
+        @Test
+        @DisplayName("change a final status, transitions are checked only by bulk update")
+        void shouldChangeFinalStatus() {
+            Order completedOrder = new Order(1L, "test@example.com", OrderStatus.COMPLETED, LocalDateTime.now(), new ArrayList<>(), 0L, BigDecimal.ZERO);
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(completedOrder));
+            Mockito.when(orderRepository.saveAndFlush(completedOrder))
+                    .thenReturn(completedOrder);
+            Mockito.when(orderMapper.toResponse(completedOrder))
+                    .thenReturn(orderResponseDto);
+
+            orderService.update(new OrderUpdateRequestDto(1L, OrderStatus.IN_PROCESS));
+
+            assertThat(completedOrder.getStatus()).isEqualTo(OrderStatus.IN_PROCESS);
+            Mockito.verify(orderRepository, Mockito.times(1))
+                    .saveAndFlush(completedOrder);
+        }
+
+        @Test
+        @DisplayName("accept the current status again")
+        void shouldAcceptCurrentStatus() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(updatedOrder));
+            Mockito.when(orderRepository.saveAndFlush(updatedOrder))
+                    .thenReturn(updatedOrder);
+            Mockito.when(orderMapper.toResponse(updatedOrder))
+                    .thenReturn(orderResponseDto);
+
+            orderService.update(new OrderUpdateRequestDto(1L, OrderStatus.COMPLETED));
+
+            Mockito.verify(orderRepository, Mockito.times(1))
+                    .saveAndFlush(updatedOrder);
+            Mockito.verifyNoInteractions(reportDeltaRepository);
+        }
+
+        @Test
+        @DisplayName("throw OrderVersionConflictException for a stale expected version and save nothing")
+        void shouldRejectStaleVersion() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(savedOrder));
+
+            assertThatExceptionOfType(OrderVersionConflictException.class)
+                    .isThrownBy(() -> orderService.update(new OrderUpdateRequestDto(1L, OrderStatus.COMPLETED, 3L)));
+
+            Mockito.verify(orderRepository, Mockito.never())
+                    .saveAndFlush(Mockito.any());
+            Mockito.verifyNoInteractions(orderEventRepository, userService);
+        }
+
+        @Test
+        @DisplayName("throw PreconditionFailedException for a stale If-Match version, ignoring the body version")
+        void shouldRejectStaleIfMatchVersion() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(savedOrder));
+
+            assertThatExceptionOfType(PreconditionFailedException.class)
+                    .isThrownBy(() -> orderService.update(new OrderUpdateRequestDto(1L, OrderStatus.COMPLETED, 0L), 3L));
+
+            Mockito.verify(orderRepository, Mockito.never())
+                    .saveAndFlush(Mockito.any());
+            Mockito.verifyNoInteractions(orderEventRepository, userService);
+        }
+
+        @Test
+        @DisplayName("throw PreconditionFailedException after a concurrent change of the If-Match version")
+        void shouldNotRetryConcurrentChangeOfIfMatchVersion() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(savedOrder));
+            Mockito.when(orderRepository.saveAndFlush(Mockito.any(Order.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L));
+
+            assertThatExceptionOfType(PreconditionFailedException.class)
+                    .isThrownBy(() -> orderService.update(orderUpdateRequestDto, 0L));
+
+            Mockito.verify(orderRepository, Mockito.times(1))
+                    .findById(1L);
+        }
+
+        @Test
+        @DisplayName("start over after a concurrent change when no version is expected")
+        void shouldRetryConcurrentChangeWithoutVersion() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(savedOrder));
+            Mockito.when(orderRepository.saveAndFlush(Mockito.any(Order.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L))
+                    .thenReturn(updatedOrder);
+            Mockito.when(orderMapper.toResponse(updatedOrder))
+                    .thenReturn(orderResponseDto);
+
+            OrderResponseDto actualValue = orderService.update(orderUpdateRequestDto);
+
+            assertThat(actualValue).isEqualTo(orderResponseDto);
+            Mockito.verify(orderRepository, Mockito.times(2))
+                    .findById(1L);
+        }
+
+        @Test
+        @DisplayName("throw OrderVersionConflictException after a concurrent change of the expected version")
+        void shouldNotRetryConcurrentChangeOfExpectedVersion() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(savedOrder));
+            Mockito.when(orderRepository.saveAndFlush(Mockito.any(Order.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L));
+
+            assertThatExceptionOfType(OrderVersionConflictException.class)
+                    .isThrownBy(() -> orderService.update(new OrderUpdateRequestDto(1L, OrderStatus.COMPLETED, 0L)));
+
+            Mockito.verify(orderRepository, Mockito.times(1))
+                    .findById(1L);
+            Mockito.verifyNoInteractions(userService);
+        }
+
+        @Test
+        @DisplayName("throw OrderVersionConflictException when concurrent changes outlast all attempts")
+        void shouldGiveUpAfterLastAttempt() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(savedOrder));
+            Mockito.when(orderRepository.saveAndFlush(Mockito.any(Order.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L));
+
+            assertThatExceptionOfType(OrderVersionConflictException.class)
+                    .isThrownBy(() -> orderService.update(orderUpdateRequestDto));
+
+            Mockito.verify(orderRepository, Mockito.times(3))
+                    .findById(1L);
+        }
+
         @Test
         @DisplayName("throws NoSuchOrderException")
         void shouldThrowNoSuchOrderException() {
@@ -202,7 +529,8 @@ class OrderServiceTest {
             Mockito.verify(orderRepository, Mockito.times(1))
                     .findById(1L);
             Mockito.verify(orderRepository, Mockito.never())
-                    .save(Mockito.any());
+                    .saveAndFlush(Mockito.any());
+            Mockito.verifyNoInteractions(orderEventRepository);
             Mockito.verify(orderMapper, Mockito.never())
                     .toResponse(Mockito.any());
             Mockito.verify(orderItemMapper, Mockito.never())
@@ -211,15 +539,121 @@ class OrderServiceTest {
     }
 
     @Nested
-    @DisplayName("Tests for deleteById(Long id)")
+    @DisplayName("Tests for updateStatuses(OrderStatusBulkUpdateRequestDto request)")
+    class updateStatusesTests {
+        @Test
+        @DisplayName("update orders by ids in one statement and report skipped ids")
+        void shouldUpdateByIdsAndReportSkipped() {
+            Mockito.when(orderRepository.updateStatusByIds(
+                            Mockito.eq(List.of(1L, 2L, 3L, 2L)),
+                            Mockito.eq(Set.of(OrderStatus.IN_PROCESS.name())),
+                            Mockito.eq(OrderStatus.COMPLETED.name()),
+                            Mockito.eq(OrderEventType.UPDATED.name()),
+                            Mockito.any()))
+                    .thenReturn(List.of(1L, 3L));
+
+            OrderStatusBulkUpdateResultDto actualValue = orderService.updateStatuses(
+                    new OrderStatusBulkUpdateRequestDto(List.of(1L, 2L, 3L, 2L), null, null, OrderStatus.COMPLETED)
+            );
+
+            assertThat(actualValue).isEqualTo(new OrderStatusBulkUpdateResultDto(2, List.of(2L)));
+            Mockito.verify(orderRepository, Mockito.never())
+                    .findAllById(Mockito.any());
+            Mockito.verifyNoInteractions(userService);
+        }
+
+        @Test
+        @DisplayName("update orders by status and creation date")
+        void shouldUpdateByStatus() {
+            LocalDateTime createdBefore = LocalDateTime.of(2025, 1, 1, 0, 0);
+            Mockito.when(orderRepository.updateStatusByStatus(
+                            Mockito.eq(OrderStatus.IN_PROCESS.name()),
+                            Mockito.eq(createdBefore),
+                            Mockito.eq(OrderStatus.CANCELLED.name()),
+                            Mockito.eq(OrderEventType.UPDATED.name()),
+                            Mockito.any()))
+                    .thenReturn(1500L);
+
+            OrderStatusBulkUpdateResultDto actualValue = orderService.updateStatuses(
+                    new OrderStatusBulkUpdateRequestDto(null, OrderStatus.IN_PROCESS, createdBefore, OrderStatus.CANCELLED)
+            );
+
+            assertThat(actualValue).isEqualTo(new OrderStatusBulkUpdateResultDto(1500, List.of()));
+        }
+
+        @Test
+        @DisplayName("throw InvalidStatusTransitionException for a transition that isn't allowed")
+        void shouldRejectTransitionByStatus() {
+            assertThatExceptionOfType(InvalidStatusTransitionException.class)
+                    .isThrownBy(() -> orderService.updateStatuses(new OrderStatusBulkUpdateRequestDto(
+                            null, OrderStatus.COMPLETED, LocalDateTime.now(), OrderStatus.IN_PROCESS
+                    )));
+
+            Mockito.verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("throw InvalidStatusTransitionException when no status can change to the requested one")
+        void shouldRejectUnreachableStatus() {
+            assertThatExceptionOfType(InvalidStatusTransitionException.class)
+                    .isThrownBy(() -> orderService.updateStatuses(new OrderStatusBulkUpdateRequestDto(
+                            List.of(1L), null, null, OrderStatus.IN_PROCESS
+                    )));
+
+            Mockito.verifyNoInteractions(orderRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for deleteById(Long id, Long ifMatchVersion)")
     class deleteOrderTests {
+        private Order order = new Order(1L, "test@example.com", OrderStatus.CANCELLED, LocalDateTime.now(), new ArrayList<>(), 0L, BigDecimal.ZERO);
+
         @Test
-        @DisplayName("successfully deletes order")
+        @DisplayName("successfully deletes order and writes its event")
         void shouldDeleteOrder() {
-            orderService.deleteById(1L);
+            OrderEvent event = new OrderEvent();
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(order));
+            Mockito.when(orderEventMapper.toEvent(order, OrderEventType.DELETED))
+                    .thenReturn(event);
+
+            orderService.deleteById(1L, null);
 
             Mockito.verify(orderRepository, Mockito.times(1))
-                    .deleteById(1L);
+                    .delete(order);
+            Mockito.verify(orderEventRepository, Mockito.times(1))
+                    .save(event);
+            Mockito.verify(reportDeltaRepository, Mockito.times(1))
+                    .recordDeleted(order);
+            assertThat(event.getOrderVersion()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("throw PreconditionFailedException for a stale If-Match version and delete nothing")
+        void shouldRejectStaleVersion() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.of(order));
+
+            assertThatExceptionOfType(PreconditionFailedException.class)
+                    .isThrownBy(() -> orderService.deleteById(1L, 2L));
+
+            Mockito.verify(orderRepository, Mockito.never())
+                    .delete(Mockito.any());
+            Mockito.verifyNoInteractions(orderEventRepository);
+        }
+
+        @Test
+        @DisplayName("ignore missing order without writing an event")
+        void shouldIgnoreMissingOrder() {
+            Mockito.when(orderRepository.findById(1L))
+                    .thenReturn(Optional.empty());
+
+            orderService.deleteById(1L, null);
+
+            Mockito.verify(orderRepository, Mockito.never())
+                    .delete(Mockito.any());
+            Mockito.verifyNoInteractions(orderEventRepository, reportDeltaRepository);
         }
     }
 
@@ -231,7 +665,9 @@ class OrderServiceTest {
                 "test@example.com",
                 OrderStatus.IN_PROCESS,
                 LocalDateTime.now(),
-                new ArrayList<>()
+                new ArrayList<>(),
+                0L,
+                BigDecimal.ZERO
         );
         private UserResponseDto userResponseDto = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test@example.com");
         private OrderResponseDto orderResponseDto = new OrderResponseDto(
@@ -239,7 +675,9 @@ class OrderServiceTest {
                 OrderStatus.IN_PROCESS,
                 LocalDateTime.now(),
                 new ArrayList<>(),
-                userResponseDto
+                userResponseDto,
+                0L,
+                BigDecimal.ZERO
         );
 
         @Test
@@ -290,193 +728,425 @@ class OrderServiceTest {
     @Nested
     @DisplayName("Tests for getAllByIds(List<Long> ids)")
     class getAllByIdsTests {
-        private List<Order> orders = new ArrayList<>(
-                List.of(
-                        new Order(1L, "test1@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>()),
-                        new Order(2L, "test2@example.com", OrderStatus.COMPLETED, LocalDateTime.now(), new ArrayList<>())
-                )
-        );
-
         @Test
         @DisplayName("returns list of orders by ids")
         void shouldReturnListOfOrdersByIds() {
-            Mockito.when(orderRepository.findAllById(List.of(1L, 2L)))
-                    .thenReturn(orders);
-            Mockito.when(orderMapper.toResponse(orders.get(0)))
-                    .thenReturn(createTestOrderResponseDto(1L, OrderStatus.IN_PROCESS));
-            Mockito.when(orderMapper.toResponse(orders.get(1)))
-                    .thenReturn(createTestOrderResponseDto(2L, OrderStatus.COMPLETED));
-            Mockito.when(userService.getUserByEmail("test1@example.com"))
-                    .thenReturn(new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com"));
-            Mockito.when(userService.getUserByEmail("test2@example.com"))
-                    .thenReturn(new UserResponseDto(2L, "Jane", "Smith", LocalDate.of(1995, 5, 15), "test2@example.com"));
+            Mockito.when(orderReadRepository.findAllByIds(List.of(1L, 2L)))
+                    .thenReturn(List.of(
+                            createTestOrderRow(1L, "test1@example.com", OrderStatus.IN_PROCESS),
+                            createTestOrderRow(2L, "test2@example.com", OrderStatus.COMPLETED)
+                    ));
+            Mockito.when(userService.getUsersByEmails(Set.of("test1@example.com", "test2@example.com")))
+                    .thenReturn(Map.of(
+                            "test1@example.com", new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com"),
+                            "test2@example.com", new UserResponseDto(2L, "Jane", "Smith", LocalDate.of(1995, 5, 15), "test2@example.com")
+                    ));
 
             List<OrderResponseDto> actualValues = orderService.getAllByIds(List.of(1L, 2L));
             Assertions.assertThat(actualValues).hasSize(2);
+            Assertions.assertThat(actualValues)
+                    .extracting(order -> order.getUserDto().email())
+                    .containsExactly("test1@example.com", "test2@example.com");
 
-            Mockito.verify(orderRepository, Mockito.times(1))
-                    .findAllById(List.of(1L, 2L));
-            Mockito.verify(orderMapper, Mockito.times(1))
-                    .toResponse(orders.get(0));
-            Mockito.verify(orderMapper, Mockito.times(1))
-                    .toResponse(orders.get(1));
-            Mockito.verify(orderItemMapper, Mockito.never())
-                    .toDto(Mockito.any());
-            Mockito.verify(userService, Mockito.times(1))
-                    .getUserByEmail("test1@example.com");
+            Mockito.verify(orderReadRepository, Mockito.times(1))
+                    .findAllByIds(List.of(1L, 2L));
+            Mockito.verifyNoInteractions(orderRepository, orderMapper);
             Mockito.verify(userService, Mockito.times(1))
-                    .getUserByEmail("test2@example.com");
+                    .getUsersByEmails(Set.of("test1@example.com", "test2@example.com"));
+            Mockito.verify(userService, Mockito.never())
+                    .getUserByEmail(Mockito.any());
         }
 
         @Test
         @DisplayName("throws NoSuchOrderException when not all orders found")
         void shouldThrowNoSuchOrderExceptionWhenNotAllFound() {
-            List<Order> partialOrders = List.of(
-                    new Order(1L, "test1@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>())
-            );
-            
-            Mockito.when(orderRepository.findAllById(List.of(1L, 2L)))
-                    .thenReturn(partialOrders);
+            Mockito.when(orderReadRepository.findAllByIds(List.of(1L, 2L)))
+                    .thenReturn(List.of(createTestOrderRow(1L, "test1@example.com", OrderStatus.IN_PROCESS)));
 
             assertThatExceptionOfType(NoSuchOrderException.class)
-                    .isThrownBy(() -> orderService.getAllByIds(List.of(1L, 2L)));
+                    .isThrownBy(() -> orderService.getAllByIds(List.of(1L, 2L)))
+                    .withMessageContaining("2");
 
-            Mockito.verify(orderRepository, Mockito.times(1))
-                    .findAllById(List.of(1L, 2L));
-            Mockito.verify(orderItemMapper, Mockito.never())
-                    .toDto(Mockito.any());
+            Mockito.verify(orderReadRepository, Mockito.times(1))
+                    .findAllByIds(List.of(1L, 2L));
             Mockito.verify(userService, Mockito.never())
-                    .getUserByEmail(Mockito.any());
+                    .getUsersByEmails(Mockito.any());
         }
     }
 
     @Nested
     @DisplayName("Tests for getAllByStatus(OrderStatus orderStatus)")
     class getAllByStatusTests {
-        private List<Order> orders = new ArrayList<>(
-                List.of(
-                        new Order(1L, "test1@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>()),
-                        new Order(2L, "test2@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>())
-                )
-        );
-
         @Test
         @DisplayName("returns list of orders by status")
         void shouldReturnListOfOrdersByStatus() {
-            Mockito.when(orderRepository.findAllByStatus(OrderStatus.IN_PROCESS))
-                    .thenReturn(orders);
-            Mockito.when(orderMapper.toResponse(orders.get(0)))
-                    .thenReturn(createTestOrderResponseDto(1L, OrderStatus.IN_PROCESS));
-            Mockito.when(orderMapper.toResponse(orders.get(1)))
-                    .thenReturn(createTestOrderResponseDto(2L, OrderStatus.IN_PROCESS));
-            Mockito.when(userService.getUserByEmail("test1@example.com"))
-                    .thenReturn(new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com"));
-            Mockito.when(userService.getUserByEmail("test2@example.com"))
-                    .thenReturn(new UserResponseDto(2L, "Jane", "Smith", LocalDate.of(1995, 5, 15), "test2@example.com"));
+            Mockito.when(orderReadRepository.findAllByStatus(OrderStatus.IN_PROCESS))
+                    .thenReturn(List.of(
+                            createTestOrderRow(1L, "test1@example.com", OrderStatus.IN_PROCESS),
+                            createTestOrderRow(2L, "test2@example.com", OrderStatus.IN_PROCESS)
+                    ));
+            Mockito.when(userService.getUsersByEmails(Set.of("test1@example.com", "test2@example.com")))
+                    .thenReturn(Map.of(
+                            "test1@example.com", new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com"),
+                            "test2@example.com", new UserResponseDto(2L, "Jane", "Smith", LocalDate.of(1995, 5, 15), "test2@example.com")
+                    ));
 
             List<OrderResponseDto> actualValues = orderService.getAllByStatus(OrderStatus.IN_PROCESS);
             Assertions.assertThat(actualValues).hasSize(2);
 
-            Mockito.verify(orderRepository, Mockito.times(1))
+            Mockito.verify(orderReadRepository, Mockito.times(1))
                     .findAllByStatus(OrderStatus.IN_PROCESS);
-            Mockito.verify(orderMapper, Mockito.times(1))
-                    .toResponse(orders.get(0));
-            Mockito.verify(orderMapper, Mockito.times(1))
-                    .toResponse(orders.get(1));
-            Mockito.verify(orderItemMapper, Mockito.never())
-                    .toDto(Mockito.any());
-            Mockito.verify(userService, Mockito.times(1))
-                    .getUserByEmail("test1@example.com");
+            Mockito.verifyNoInteractions(orderRepository, orderMapper);
             Mockito.verify(userService, Mockito.times(1))
-                    .getUserByEmail("test2@example.com");
+                    .getUsersByEmails(Set.of("test1@example.com", "test2@example.com"));
+            Mockito.verify(userService, Mockito.never())
+                    .getUserByEmail(Mockito.any());
         }
 
         @Test
         @DisplayName("returns empty list when no orders found")
         void shouldReturnEmptyListWhenNoOrdersFound() {
-            Mockito.when(orderRepository.findAllByStatus(OrderStatus.CANCELLED))
+            Mockito.when(orderReadRepository.findAllByStatus(OrderStatus.CANCELLED))
                     .thenReturn(List.of());
 
             List<OrderResponseDto> actualValues = orderService.getAllByStatus(OrderStatus.CANCELLED);
             Assertions.assertThat(actualValues).isEmpty();
 
-            Mockito.verify(orderRepository, Mockito.times(1))
+            Mockito.verify(orderReadRepository, Mockito.times(1))
                     .findAllByStatus(OrderStatus.CANCELLED);
-            Mockito.verify(orderItemMapper, Mockito.never())
-                    .toDto(Mockito.any());
             Mockito.verify(userService, Mockito.never())
-                    .getUserByEmail(Mockito.any());
+                    .getUsersByEmails(Mockito.any());
         }
     }
 
     @Nested
     @DisplayName("Tests for getAll()")
     class findAllTests {
-        private List<Order> orders = new ArrayList<>(
-                List.of(
-                        new Order(1L, "test1@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>()),
-                        new Order(2L, "test2@example.com", OrderStatus.COMPLETED, LocalDateTime.now(), new ArrayList<>())
-                )
-        );
-
         @Test
         @DisplayName("return not empty list")
         void shouldReturnNotEmptyList() {
-            Mockito.when(orderRepository.findAll())
-                    .thenReturn(orders);
-            Mockito.when(orderMapper.toResponse(orders.get(0)))
-                    .thenReturn(createTestOrderResponseDto(1L, OrderStatus.IN_PROCESS));
-            Mockito.when(orderMapper.toResponse(orders.get(1)))
-                    .thenReturn(createTestOrderResponseDto(2L, OrderStatus.COMPLETED));
-            Mockito.when(userService.getUserByEmail("test1@example.com"))
-                    .thenReturn(new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com"));
-            Mockito.when(userService.getUserByEmail("test2@example.com"))
-                    .thenReturn(new UserResponseDto(2L, "Jane", "Smith", LocalDate.of(1995, 5, 15), "test2@example.com"));
-
+            Mockito.when(orderReadRepository.findAll())
+                    .thenReturn(List.of(
+                            createTestOrderRow(1L, "test1@example.com", OrderStatus.IN_PROCESS),
+                            createTestOrderRow(2L, "test2@example.com", OrderStatus.COMPLETED)
+                    ));
+            Mockito.when(userService.getUsersByEmails(Set.of("test1@example.com", "test2@example.com")))
+                    .thenReturn(Map.of(
+                            "test1@example.com", new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com"),
+                            "test2@example.com", new UserResponseDto(2L, "Jane", "Smith", LocalDate.of(1995, 5, 15), "test2@example.com")
+                    ));
 
             List<OrderResponseDto> actualValues = orderService.getAll();
             Assertions.assertThat(actualValues).hasSize(2);
+            Assertions.assertThat(actualValues)
+                    .extracting(order -> order.getUserDto().email())
+                    .containsExactly("test1@example.com", "test2@example.com");
 
-            Mockito.verify(orderRepository, Mockito.times(1))
+            Mockito.verify(orderReadRepository, Mockito.times(1))
                     .findAll();
-            Mockito.verify(orderMapper, Mockito.times(1))
-                    .toResponse(orders.get(0));
-            Mockito.verify(orderMapper, Mockito.times(1))
-                    .toResponse(orders.get(1));
-            Mockito.verify(orderItemMapper, Mockito.never())
-                    .toDto(Mockito.any());
-            Mockito.verify(userService, Mockito.times(1))
-                    .getUserByEmail("test1@example.com");
+            Mockito.verifyNoInteractions(orderRepository, orderMapper);
             Mockito.verify(userService, Mockito.times(1))
-                    .getUserByEmail("test2@example.com");
+                    .getUsersByEmails(Set.of("test1@example.com", "test2@example.com"));
+            Mockito.verify(userService, Mockito.never())
+                    .getUserByEmail(Mockito.any());
         }
 
         @Test
         @DisplayName("return empty list")
         void shouldReturnEmptyList() {
-            Mockito.when(orderRepository.findAll())
+            Mockito.when(orderReadRepository.findAll())
                     .thenReturn(List.of());
 
             List<OrderResponseDto> actualValues = orderService.getAll();
             Assertions.assertThat(actualValues).isEmpty();
 
-            Mockito.verify(orderRepository, Mockito.times(1))
+            Mockito.verify(orderReadRepository, Mockito.times(1))
                     .findAll();
-            Mockito.verify(orderItemMapper, Mockito.never())
-                    .toDto(Mockito.any());
+            Mockito.verify(userService, Mockito.never())
+                    .getUsersByEmails(Mockito.any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for streamAll(Consumer<OrderResponseDto> consumer)")
+    class streamAllTests {
+        @Test
+        @DisplayName("hand over orders of a short chunk, orders of unknown users go without user")
+        void shouldStreamChunkWithoutUnknownUsers() {
+            Mockito.when(orderReadRepository.findPageAfterId(0L, 500))
+                    .thenReturn(List.of(
+                            createTestOrderRow(1L, "test1@example.com", OrderStatus.IN_PROCESS),
+                            createTestOrderRow(2L, "unknown@example.com", OrderStatus.COMPLETED)
+                    ));
+            Mockito.when(userService.findUsersByEmails(Set.of("test1@example.com", "unknown@example.com")))
+                    .thenReturn(Map.of(
+                            "test1@example.com", new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com")
+                    ));
+
+            List<OrderResponseDto> actualValues = new ArrayList<>();
+            orderService.streamAll(actualValues::add);
+
+            Assertions.assertThat(actualValues).extracting(OrderResponseDto::getId).containsExactly(1L, 2L);
+            assertThat(actualValues.get(0).getUserDto().email()).isEqualTo("test1@example.com");
+            assertThat(actualValues.get(1).getUserDto()).isNull();
+
+            Mockito.verify(orderReadRepository, Mockito.times(1))
+                    .findPageAfterId(Mockito.anyLong(), Mockito.anyInt());
             Mockito.verify(userService, Mockito.never())
                     .getUserByEmail(Mockito.any());
         }
+
+        @Test
+        @DisplayName("read the next chunk after the last order of a full one")
+        void shouldReadNextChunk_whenChunkIsFull() {
+            List<OrderRow> fullChunk = LongStream.rangeClosed(1, 500)
+                    .mapToObj(id -> createTestOrderRow(id, "test1@example.com", OrderStatus.IN_PROCESS))
+                    .toList();
+            Mockito.when(orderReadRepository.findPageAfterId(0L, 500))
+                    .thenReturn(fullChunk);
+            Mockito.when(orderReadRepository.findPageAfterId(500L, 500))
+                    .thenReturn(List.of());
+            Mockito.when(userService.findUsersByEmails(Set.of("test1@example.com")))
+                    .thenReturn(Map.of());
+
+            List<OrderResponseDto> actualValues = new ArrayList<>();
+            orderService.streamAll(actualValues::add);
+
+            Assertions.assertThat(actualValues).hasSize(500);
+
+            Mockito.verify(orderReadRepository, Mockito.times(1))
+                    .findPageAfterId(500L, 500);
+            Mockito.verify(userService, Mockito.times(1))
+                    .findUsersByEmails(Mockito.any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getPage(Long after, int limit)")
+    class getPageTests {
+        @Test
+        @DisplayName("return full page with cursor of its last order")
+        void shouldReturnPageWithNextCursor() {
+            Mockito.when(orderReadRepository.findPageAfterId(2L, 2))
+                    .thenReturn(List.of(
+                            createTestOrderRow(3L, "test1@example.com", OrderStatus.IN_PROCESS),
+                            createTestOrderRow(4L, "test1@example.com", OrderStatus.COMPLETED)
+                    ));
+            Mockito.when(userService.getUsersByEmails(Set.of("test1@example.com")))
+                    .thenReturn(Map.of(
+                            "test1@example.com", new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com")
+                    ));
+
+            CursorPageDto<OrderResponseDto> actualValue = orderService.getPage(2L, 2);
+
+            Assertions.assertThat(actualValue.content()).hasSize(2);
+            assertThat(actualValue.nextCursor()).isEqualTo("4");
+
+            Mockito.verify(orderReadRepository, Mockito.times(1))
+                    .findPageAfterId(2L, 2);
+            Mockito.verify(userService, Mockito.times(1))
+                    .getUsersByEmails(Set.of("test1@example.com"));
+        }
+
+        @Test
+        @DisplayName("return empty last page without cursor")
+        void shouldReturnEmptyPageWithoutCursor() {
+            Mockito.when(orderReadRepository.findPageAfterId(4L, 2))
+                    .thenReturn(List.of());
+
+            CursorPageDto<OrderResponseDto> actualValue = orderService.getPage(4L, 2);
+
+            Assertions.assertThat(actualValue.content()).isEmpty();
+            assertThat(actualValue.nextCursor()).isNull();
+
+            Mockito.verify(userService, Mockito.never())
+                    .getUsersByEmails(Mockito.any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getPageByUser(String userEmail, Long after, int limit)")
+    class getPageByUserTests {
+        private UserResponseDto user = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com");
+
+        @Test
+        @DisplayName("return newest orders first, resolving user once")
+        void shouldReturnNewestFirstWithSingleUserLookup() {
+            Mockito.when(orderReadRepository.findPageByUserEmail("test1@example.com", Long.MAX_VALUE, 2))
+                    .thenReturn(List.of(
+                            createTestOrderRow(7L, "test1@example.com", OrderStatus.COMPLETED),
+                            createTestOrderRow(3L, "test1@example.com", OrderStatus.IN_PROCESS)
+                    ));
+            Mockito.when(userService.getUserByEmail("test1@example.com"))
+                    .thenReturn(user);
+
+            CursorPageDto<OrderResponseDto> actualValue = orderService.getPageByUser("test1@example.com", null, 2);
+
+            Assertions.assertThat(actualValue.content())
+                    .extracting(OrderResponseDto::getId)
+                    .containsExactly(7L, 3L);
+            Assertions.assertThat(actualValue.content())
+                    .extracting(OrderResponseDto::getUserDto)
+                    .containsOnly(user);
+            assertThat(actualValue.nextCursor()).isEqualTo("3");
+
+            Mockito.verify(userService, Mockito.times(1))
+                    .getUserByEmail("test1@example.com");
+        }
+
+        @Test
+        @DisplayName("return empty page without calling user service")
+        void shouldReturnEmptyPageWithoutUserLookup() {
+            Mockito.when(orderReadRepository.findPageByUserEmail("test1@example.com", 3L, 2))
+                    .thenReturn(List.of());
+
+            CursorPageDto<OrderResponseDto> actualValue = orderService.getPageByUser("test1@example.com", 3L, 2);
+
+            Assertions.assertThat(actualValue.content()).isEmpty();
+            assertThat(actualValue.nextCursor()).isNull();
+
+            Mockito.verifyNoInteractions(userService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getPageByStatus(OrderStatus orderStatus, String after, int limit)")
+    class getPageByStatusTests {
+        private LocalDateTime creationDate = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+
+        @Test
+        @DisplayName("return first page with cursor of its last order")
+        void shouldReturnFirstPageWithNextCursor() {
+            OrderRow newer = createTestOrderRow(4L, "test1@example.com", OrderStatus.IN_PROCESS);
+            newer.order().setCreationDate(creationDate.plusMinutes(1));
+            OrderRow older = createTestOrderRow(3L, "test1@example.com", OrderStatus.IN_PROCESS);
+            older.order().setCreationDate(creationDate);
+            Mockito.when(orderReadRepository.findPageByStatus(OrderStatus.IN_PROCESS, null, 2))
+                    .thenReturn(List.of(newer, older));
+            Mockito.when(userService.getUsersByEmails(Set.of("test1@example.com")))
+                    .thenReturn(Map.of(
+                            "test1@example.com", new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test1@example.com")
+                    ));
+
+            CursorPageDto<OrderResponseDto> actualValue = orderService.getPageByStatus(OrderStatus.IN_PROCESS, null, 2);
+
+            Assertions.assertThat(actualValue.content()).hasSize(2);
+            assertThat(CreationDateCursor.decode(actualValue.nextCursor()))
+                    .isEqualTo(new CreationDateCursor(creationDate, 3L));
+        }
+
+        @Test
+        @DisplayName("continue after the cursor and return last page without cursor")
+        void shouldContinueAfterCursor() {
+            CreationDateCursor cursor = new CreationDateCursor(creationDate, 3L);
+            Mockito.when(orderReadRepository.findPageByStatus(OrderStatus.IN_PROCESS, cursor, 2))
+                    .thenReturn(List.of());
+
+            CursorPageDto<OrderResponseDto> actualValue = orderService.getPageByStatus(OrderStatus.IN_PROCESS, cursor.encode(), 2);
+
+            Assertions.assertThat(actualValue.content()).isEmpty();
+            assertThat(actualValue.nextCursor()).isNull();
+
+            Mockito.verify(orderReadRepository, Mockito.times(1))
+                    .findPageByStatus(OrderStatus.IN_PROCESS, cursor, 2);
+        }
+
+        @Test
+        @DisplayName("throw InvalidCursorException on malformed cursor")
+        void shouldThrowOnMalformedCursor() {
+            assertThatExceptionOfType(InvalidCursorException.class)
+                    .isThrownBy(() -> orderService.getPageByStatus(OrderStatus.IN_PROCESS, "not-a-cursor", 2));
+
+            Mockito.verifyNoInteractions(orderReadRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for createAll(List<OrderRequestDto> orderRequestDtos)")
+    class createAllTests {
+        private Item item1 = new Item(1L, "item1", BigDecimal.valueOf(100.0));
+        private UserResponseDto user = new UserResponseDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "test@example.com");
+        private OrderRequestDto validOrder = new OrderRequestDto("test@example.com", List.of(new OrderItemRequestDto(1L, 2)));
+        private OrderRequestDto orderWithMissingItem = new OrderRequestDto("test@example.com", List.of(new OrderItemRequestDto(9L, 1)));
+        private OrderRequestDto orderWithMissingUser = new OrderRequestDto("unknown@example.com", List.of(new OrderItemRequestDto(1L, 1)));
+
+        @Test
+        @DisplayName("save valid orders and report invalid ones, checking items and users once")
+        void shouldSaveValidOrdersAndReportInvalid() {
+            Order savedOrder = new Order(5L, "test@example.com", OrderStatus.IN_PROCESS, LocalDateTime.now(), new ArrayList<>(), 0L, BigDecimal.ZERO);
+            Mockito.when(itemService.findExistingItemIds(Set.of(1L, 9L)))
+                    .thenReturn(Set.of(1L));
+            Mockito.when(itemService.getListOfItemEntitiesById(List.of(1L)))
+                    .thenReturn(List.of(item1));
+            Mockito.when(userService.findUsersByEmails(Set.of("test@example.com", "unknown@example.com")))
+                    .thenReturn(Map.of("test@example.com", user));
+            Mockito.when(transactionTemplate.execute(Mockito.any()))
+                    .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            Mockito.when(orderMapper.toEntity(validOrder))
+                    .thenReturn(new Order());
+            Mockito.when(orderRepository.saveAll(Mockito.anyList()))
+                    .thenReturn(List.of(savedOrder));
+            Mockito.when(orderMapper.toResponse(savedOrder))
+                    .thenReturn(createTestOrderResponseDto(5L, OrderStatus.IN_PROCESS));
+
+            List<BulkOrderResultDto> actualValue =
+                    orderService.createAll(List.of(validOrder, orderWithMissingItem, orderWithMissingUser));
+
+            Assertions.assertThat(actualValue).hasSize(3);
+            assertThat(actualValue.get(0).order().getId()).isEqualTo(5L);
+            assertThat(actualValue.get(0).order().getUserDto()).isEqualTo(user);
+            Assertions.assertThat(actualValue.get(1).error()).contains("No such items");
+            Assertions.assertThat(actualValue.get(2).error()).contains("No such user");
+
+            Mockito.verify(itemService, Mockito.times(1))
+                    .findExistingItemIds(Mockito.any());
+            // prices come from the chunk's transaction, not from the check
+            Mockito.verify(itemService, Mockito.times(1))
+                    .getListOfItemEntitiesById(List.of(1L));
+            Mockito.verify(userService, Mockito.times(1))
+                    .findUsersByEmails(Mockito.any());
+            Mockito.verify(userService, Mockito.never())
+                    .getUserByEmail(Mockito.any());
+            Mockito.verify(orderRepository, Mockito.times(1))
+                    .saveAll(Mockito.anyList());
+            Mockito.verify(orderEventMapper, Mockito.times(1))
+                    .toEvent(savedOrder, OrderEventType.CREATED);
+            Mockito.verify(orderEventRepository, Mockito.times(1))
+                    .saveAll(Mockito.anyList());
+        }
+
+        @Test
+        @DisplayName("report every order of chunk that failed to save")
+        void shouldReportFailedChunk() {
+            Mockito.when(itemService.findExistingItemIds(Set.of(1L)))
+                    .thenReturn(Set.of(1L));
+            Mockito.when(userService.findUsersByEmails(Set.of("test@example.com")))
+                    .thenReturn(Map.of("test@example.com", user));
+            Mockito.when(transactionTemplate.execute(Mockito.any()))
+                    .thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+            List<BulkOrderResultDto> actualValue = orderService.createAll(List.of(validOrder, validOrder));
+
+            Assertions.assertThat(actualValue)
+                    .extracting(BulkOrderResultDto::error)
+                    .containsExactly("constraint violated", "constraint violated");
+        }
     }
 
     // Helper methods
+    private OrderRow createTestOrderRow(Long id, String userEmail, OrderStatus status) {
+        return new OrderRow(userEmail, createTestOrderResponseDto(id, status));
+    }
+
     private OrderResponseDto createTestOrderResponseDto(Long id, OrderStatus status) {
         return new OrderResponseDto(
                 id,
                 status,
                 LocalDateTime.now(),
                 new ArrayList<>(),
-                null
+                null,
+                0L,
+                BigDecimal.ZERO
         );
     }
 }
@@ -0,0 +1,114 @@
+package com.app.impl.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.app.impl.config.ReportProperties;
+import com.app.impl.repository.ReportRepository;
+import com.app.impl.service.report.ReportRollup;
+
+@ExtendWith(MockitoExtension.class)
+class ReportRollupTest {
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportRollup rollup;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        rollup = new ReportRollup(
+                reportRepository,
+                transactionManager,
+                new ReportProperties(new ReportProperties.Rollup(Duration.ofSeconds(5), BATCH_SIZE)),
+                meterRegistry
+        );
+    }
+
+    @Nested
+    @DisplayName("Tests for rollup()")
+    class RollupTests {
+        @Test
+        @DisplayName("fold batches until there are no deltas left")
+        void shouldFoldUntilDrained() {
+            Mockito.when(reportRepository.foldOrderStats(BATCH_SIZE))
+                    .thenReturn(3, 1, 0);
+            Mockito.when(reportRepository.foldItemSales(BATCH_SIZE))
+                    .thenReturn(5, 0, 0);
+
+            rollup.rollup();
+
+            Mockito.verify(reportRepository, Mockito.times(3))
+                    .foldOrderStats(BATCH_SIZE);
+            Mockito.verify(reportRepository, Mockito.times(3))
+                    .foldItemSales(BATCH_SIZE);
+            Mockito.verify(transactionManager, Mockito.times(3))
+                    .commit(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("lock the aggregates before folding a batch")
+        void shouldLockBeforeFolding() {
+            rollup.foldBatch();
+
+            InOrder inOrder = Mockito.inOrder(reportRepository);
+            inOrder.verify(reportRepository).lockAggregates();
+            inOrder.verify(reportRepository).foldOrderStats(BATCH_SIZE);
+            inOrder.verify(reportRepository).foldItemSales(BATCH_SIZE);
+        }
+
+        @Test
+        @DisplayName("count a failed run and leave the rest for the next one")
+        void shouldCountFailure() {
+            Mockito.when(reportRepository.foldOrderStats(BATCH_SIZE))
+                    .thenThrow(new IllegalStateException("database is down"));
+
+            rollup.rollup();
+
+            Mockito.verify(transactionManager, Mockito.times(1))
+                    .rollback(Mockito.any());
+            assertThat(meterRegistry.counter("report.rollup.failures").count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for rebuild()")
+    class RebuildTests {
+        @Test
+        @DisplayName("rebuild under the aggregates lock in a single repeatable read transaction")
+        void shouldRebuildInRepeatableReadTransaction() {
+            rollup.rebuild();
+
+            ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+            Mockito.verify(transactionManager, Mockito.times(1))
+                    .getTransaction(definition.capture());
+            assertThat(definition.getValue().getIsolationLevel())
+                    .isEqualTo(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            InOrder inOrder = Mockito.inOrder(reportRepository);
+            inOrder.verify(reportRepository).lockAggregates();
+            inOrder.verify(reportRepository).rebuild();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.app.impl.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import feign.FeignException;
+import feign.Request;
+
+import com.app.impl.Client.UserClient;
+import com.app.impl.config.UserLookupProperties;
+import com.app.impl.dto.user.UserResponseDto;
+import com.app.impl.service.UserLookupFanOut;
+
+@ExtendWith(MockitoExtension.class)
+public class UserLookupFanOutTest {
+    @Mock
+    private UserClient userClient;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private UserLookupFanOut fanOut(int maxConcurrency, Duration timeout) {
+        return new UserLookupFanOut(userClient, executor, new UserLookupProperties(false, maxConcurrency, timeout));
+    }
+
+    private static UserResponseDto user(String email) {
+        return new UserResponseDto(1L, "test_name", "test_surname", LocalDate.of(2000, 12, 12), email);
+    }
+
+    @Nested
+    @DisplayName("Tests for getUsersByEmails(Collection<String> emails)")
+    class GetUsersByEmails {
+        @Test
+        @DisplayName("return users in order of emails with one call per distinct email")
+        public void shouldPreserveOrderAndDedupe() {
+            Mockito.when(userClient.getUserByEmail(Mockito.anyString()))
+                    .thenAnswer(invocation -> user(invocation.getArgument(0)));
+
+            Map<String, Optional<UserResponseDto>> actualValue = fanOut(10, Duration.ofSeconds(5))
+                    .getUsersByEmails(List.of("c@gmail.com", "a@gmail.com", "c@gmail.com", "b@gmail.com"));
+
+            assertThat(actualValue.keySet()).containsExactly("c@gmail.com", "a@gmail.com", "b@gmail.com");
+            assertThat(actualValue.get("a@gmail.com")).contains(user("a@gmail.com"));
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUserByEmail("c@gmail.com");
+        }
+
+        @Test
+        @DisplayName("return empty value for unknown email")
+        public void shouldReturnEmptyForUnknownEmail() {
+            Request request = Request.create(
+                    Request.HttpMethod.GET, "/api/users/by-email", Map.of(), null, StandardCharsets.UTF_8, null
+            );
+            Mockito.when(userClient.getUserByEmail("unknown@gmail.com"))
+                    .thenThrow(new FeignException.NotFound("not found", request, null, null));
+
+            Map<String, Optional<UserResponseDto>> actualValue = fanOut(10, Duration.ofSeconds(5))
+                    .getUsersByEmails(List.of("unknown@gmail.com"));
+
+            assertThat(actualValue).containsExactly(Map.entry("unknown@gmail.com", Optional.empty()));
+        }
+
+        @Test
+        @DisplayName("return other users when some lookups fail or time out")
+        public void shouldReturnPartialResult() {
+            Mockito.when(userClient.getUserByEmail("ok@gmail.com"))
+                    .thenReturn(user("ok@gmail.com"));
+            Mockito.when(userClient.getUserByEmail("failed@gmail.com"))
+                    .thenThrow(new IllegalStateException("user service is down"));
+            Mockito.when(userClient.getUserByEmail("slow@gmail.com"))
+                    .thenAnswer(invocation -> {
+                        Thread.sleep(5_000);
+                        return user("slow@gmail.com");
+                    });
+
+            long start = System.nanoTime();
+            Map<String, Optional<UserResponseDto>> actualValue = fanOut(10, Duration.ofMillis(200))
+                    .getUsersByEmails(List.of("failed@gmail.com", "slow@gmail.com", "ok@gmail.com"));
+
+            assertThat(actualValue).containsOnlyKeys("ok@gmail.com");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        }
+
+        @Test
+        @DisplayName("run lookups concurrently")
+        public void shouldRunLookupsConcurrently() {
+            CountDownLatch allStarted = new CountDownLatch(5);
+            Mockito.when(userClient.getUserByEmail(Mockito.anyString()))
+                    .thenAnswer(invocation -> {
+                        allStarted.countDown();
+                        // only completes when all five calls are in flight at once
+                        return allStarted.await(5, TimeUnit.SECONDS) ? user(invocation.getArgument(0)) : null;
+                    });
+            List<String> emails = IntStream.range(0, 5)
+                    .mapToObj(i -> "test" + i + "@gmail.com")
+                    .toList();
+
+            Map<String, Optional<UserResponseDto>> actualValue = fanOut(5, Duration.ofSeconds(10))
+                    .getUsersByEmails(emails);
+
+            assertThat(actualValue.values()).allMatch(Optional::isPresent);
+        }
+
+        @Test
+        @DisplayName("keep number of calls in flight under the cap")
+        public void shouldBoundConcurrency() {
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            Mockito.when(userClient.getUserByEmail(Mockito.anyString()))
+                    .thenAnswer(invocation -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        Thread.sleep(20);
+                        inFlight.decrementAndGet();
+                        return user(invocation.getArgument(0));
+                    });
+            List<String> emails = IntStream.range(0, 20)
+                    .mapToObj(i -> "test" + i + "@gmail.com")
+                    .toList();
+
+            Map<String, Optional<UserResponseDto>> actualValue = fanOut(3, Duration.ofSeconds(5))
+                    .getUsersByEmails(emails);
+
+            assertThat(actualValue).hasSize(20);
+            assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+        }
+    }
+}
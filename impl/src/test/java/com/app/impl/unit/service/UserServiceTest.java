@@ -3,20 +3,39 @@ package com.app.impl.unit.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import feign.FeignException;
+import feign.Request;
+
 import com.app.impl.Client.UserClient;
+import com.app.impl.config.UserLookupProperties;
 import com.app.impl.dto.user.UserResponseDto;
 import com.app.impl.exception.NoSuchUserException;
+import com.app.impl.service.UserLookupFanOut;
 import com.app.impl.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,9 +43,31 @@ public class UserServiceTest {
     @Mock
     private UserClient userClient;
 
-    @InjectMocks
+    private ExecutorService executor;
+
     private UserService userService;
 
+    @BeforeEach
+    void setup() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        userService = userService(true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private UserService userService(boolean batchEnabled) {
+        UserLookupProperties properties = new UserLookupProperties(batchEnabled, 10, Duration.ofSeconds(5));
+        return new UserService(
+                userClient,
+                Caffeine.newBuilder().executor(Runnable::run).buildAsync(),
+                new UserLookupFanOut(userClient, executor, properties),
+                properties
+        );
+    }
+
     @Nested
     @DisplayName("Tests for getUserByEmail(String email)")
     class GetUserByEmail {
@@ -65,5 +106,242 @@ public class UserServiceTest {
             Mockito.verify(userClient, Mockito.times(1))
                     .getUserByEmail("test@gmail.com");
         }
+
+        @Test
+        @DisplayName("return cached user without calling user service again")
+        public void shouldReturnCachedUser() {
+            Mockito.when(userClient.getUserByEmail("test@gmail.com"))
+                    .thenReturn(userResponseDto);
+
+            userService.getUserByEmail("test@gmail.com");
+            UserResponseDto actualValue = userService.getUserByEmail("test@gmail.com");
+
+            assertThat(actualValue).isEqualTo(userResponseDto);
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUserByEmail("test@gmail.com");
+        }
+
+        @Test
+        @DisplayName("return NoSuchUserException from cache for unknown email")
+        public void shouldCacheNoSuchUser() {
+            Mockito.when(userClient.getUserByEmail("test@gmail.com"))
+                    .thenReturn(null);
+
+            assertThatExceptionOfType(NoSuchUserException.class)
+                    .isThrownBy(() -> userService.getUserByEmail("test@gmail.com"));
+            assertThatExceptionOfType(NoSuchUserException.class)
+                    .isThrownBy(() -> userService.getUserByEmail("test@gmail.com"));
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUserByEmail("test@gmail.com");
+        }
+
+        @Test
+        @DisplayName("collapse concurrent misses into one user service call")
+        public void shouldCollapseConcurrentMisses() throws Exception {
+            CountDownLatch callStarted = new CountDownLatch(1);
+            CountDownLatch releaseCall = new CountDownLatch(1);
+            Mockito.when(userClient.getUserByEmail("test@gmail.com"))
+                    .thenAnswer(invocation -> {
+                        callStarted.countDown();
+                        releaseCall.await(5, TimeUnit.SECONDS);
+                        return userResponseDto;
+                    });
+
+            CompletableFuture<UserResponseDto> first =
+                    CompletableFuture.supplyAsync(() -> userService.getUserByEmail("test@gmail.com"));
+            callStarted.await(5, TimeUnit.SECONDS);
+            CompletableFuture<UserResponseDto> second =
+                    CompletableFuture.supplyAsync(() -> userService.getUserByEmail("test@gmail.com"));
+            releaseCall.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(userResponseDto);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(userResponseDto);
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUserByEmail("test@gmail.com");
+        }
+    }
+    @Nested
+    @DisplayName("Tests for getUsersByEmails(Collection<String> emails)")
+    class GetUsersByEmails {
+        private UserResponseDto firstUser =
+                new UserResponseDto(
+                        1L,
+                        "test_name_1",
+                        "test_surname_1",
+                        LocalDate.of(2000, 12, 12),
+                        "test1@gmail.com"
+                );
+        private UserResponseDto secondUser =
+                new UserResponseDto(
+                        2L,
+                        "test_name_2",
+                        "test_surname_2",
+                        LocalDate.of(2001, 1, 1),
+                        "test2@gmail.com"
+                );
+
+        @Test
+        @DisplayName("return users by emails with one request for duplicated emails")
+        public void shouldReturnUsersByEmails() {
+            Mockito.when(userClient.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com")))
+                    .thenReturn(Map.of(
+                            "test1@gmail.com", firstUser,
+                            "test2@gmail.com", secondUser
+                    ));
+
+            Map<String, UserResponseDto> actualValue = userService.getUsersByEmails(
+                    List.of("test1@gmail.com", "test2@gmail.com", "test1@gmail.com")
+            );
+
+            assertThat(actualValue).containsOnly(
+                    Map.entry("test1@gmail.com", firstUser),
+                    Map.entry("test2@gmail.com", secondUser)
+            );
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUsersByEmails(Mockito.anyList());
+            Mockito.verify(userClient, Mockito.never())
+                    .getUserByEmail(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("collapse concurrent misses of the same emails into one batch call")
+        public void shouldCollapseConcurrentBulkMisses() throws Exception {
+            CountDownLatch callStarted = new CountDownLatch(1);
+            CountDownLatch releaseCall = new CountDownLatch(1);
+            Mockito.when(userClient.getUsersByEmails(Mockito.anyList()))
+                    .thenAnswer(invocation -> {
+                        callStarted.countDown();
+                        releaseCall.await(5, TimeUnit.SECONDS);
+                        return Map.of(
+                                "test1@gmail.com", firstUser,
+                                "test2@gmail.com", secondUser
+                        );
+                    });
+
+            CompletableFuture<Map<String, UserResponseDto>> first = CompletableFuture.supplyAsync(
+                    () -> userService.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com"))
+            );
+            callStarted.await(5, TimeUnit.SECONDS);
+            CompletableFuture<Map<String, UserResponseDto>> second = CompletableFuture.supplyAsync(
+                    () -> userService.findUsersByEmails(List.of("test2@gmail.com", "test1@gmail.com"))
+            );
+            CompletableFuture<UserResponseDto> single =
+                    CompletableFuture.supplyAsync(() -> userService.getUserByEmail("test1@gmail.com"));
+            releaseCall.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).hasSize(2);
+            assertThat(second.get(5, TimeUnit.SECONDS)).containsOnly(
+                    Map.entry("test1@gmail.com", firstUser),
+                    Map.entry("test2@gmail.com", secondUser)
+            );
+            assertThat(single.get(5, TimeUnit.SECONDS)).isEqualTo(firstUser);
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUsersByEmails(Mockito.anyList());
+            Mockito.verify(userClient, Mockito.never())
+                    .getUserByEmail(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("split emails into chunks")
+        public void shouldSplitEmailsIntoChunks() {
+            List<String> emails = IntStream.range(0, 250)
+                    .mapToObj(i -> "test" + i + "@gmail.com")
+                    .toList();
+            Mockito.when(userClient.getUsersByEmails(Mockito.anyList()))
+                    .thenAnswer(invocation -> {
+                        List<String> chunk = invocation.getArgument(0);
+                        return chunk.stream()
+                                .collect(Collectors.toMap(
+                                        email -> email,
+                                        email -> new UserResponseDto(1L, "name", "surname", LocalDate.of(2000, 1, 1), email)
+                                ));
+                    });
+
+            Map<String, UserResponseDto> actualValue = userService.getUsersByEmails(emails);
+
+            assertThat(actualValue).hasSize(250);
+
+            Mockito.verify(userClient, Mockito.times(3))
+                    .getUsersByEmails(Mockito.anyList());
+        }
+
+        @Test
+        @DisplayName("return NoSuchUserException when some users not found")
+        public void shouldReturnNoSuchUserException() {
+            Mockito.when(userClient.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com")))
+                    .thenReturn(Map.of("test1@gmail.com", firstUser));
+
+            assertThatExceptionOfType(NoSuchUserException.class)
+                    .isThrownBy(() -> userService.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com")));
+        }
+
+        @Test
+        @DisplayName("load only emails which are not cached yet")
+        public void shouldLoadOnlyNotCachedEmails() {
+            Mockito.when(userClient.getUserByEmail("test1@gmail.com"))
+                    .thenReturn(firstUser);
+            Mockito.when(userClient.getUsersByEmails(List.of("test2@gmail.com")))
+                    .thenReturn(Map.of("test2@gmail.com", secondUser));
+
+            userService.getUserByEmail("test1@gmail.com");
+            Map<String, UserResponseDto> actualValue =
+                    userService.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com"));
+
+            assertThat(actualValue).hasSize(2);
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUsersByEmails(List.of("test2@gmail.com"));
+        }
+
+        @Test
+        @DisplayName("resolve users by single lookups when batch endpoint is missing")
+        public void shouldFallBackToSingleLookups() {
+            Request request = Request.create(
+                    Request.HttpMethod.POST, "/api/users/by-emails", Map.of(), null, StandardCharsets.UTF_8, null
+            );
+            Mockito.when(userClient.getUsersByEmails(Mockito.anyList()))
+                    .thenThrow(new FeignException.NotFound("not found", request, null, null));
+            Mockito.when(userClient.getUserByEmail("test1@gmail.com"))
+                    .thenReturn(firstUser);
+            Mockito.when(userClient.getUserByEmail("test2@gmail.com"))
+                    .thenReturn(secondUser);
+
+            Map<String, UserResponseDto> actualValue =
+                    userService.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com"));
+
+            assertThat(actualValue).containsOnly(
+                    Map.entry("test1@gmail.com", firstUser),
+                    Map.entry("test2@gmail.com", secondUser)
+            );
+        }
+
+        @Test
+        @DisplayName("skip users whose single lookup failed and don't cache them")
+        public void shouldSkipFailedLookups() {
+            UserService fanOutUserService = userService(false);
+            Mockito.when(userClient.getUserByEmail("test1@gmail.com"))
+                    .thenReturn(firstUser);
+            Mockito.when(userClient.getUserByEmail("test2@gmail.com"))
+                    .thenThrow(new IllegalStateException("user service is down"))
+                    .thenReturn(secondUser);
+
+            Map<String, UserResponseDto> firstValue =
+                    fanOutUserService.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com"));
+            Map<String, UserResponseDto> secondValue =
+                    fanOutUserService.getUsersByEmails(List.of("test1@gmail.com", "test2@gmail.com"));
+
+            assertThat(firstValue).containsOnly(Map.entry("test1@gmail.com", firstUser));
+            assertThat(secondValue).hasSize(2);
+
+            Mockito.verify(userClient, Mockito.times(1))
+                    .getUserByEmail("test1@gmail.com");
+            Mockito.verify(userClient, Mockito.never())
+                    .getUsersByEmails(Mockito.anyList());
+        }
     }
 }